@@ -0,0 +1,90 @@
+package com.example.backend.config;
+
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.service.JwtService;
+import com.example.backend.service.JwtServiceBenchmark;
+import com.example.backend.service.PrincipalService;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * One pass of the JWT filter per invocation, with the user repository mocked so
+ * only the filter's own work (token parsing, validation, principal lookup,
+ * authentication setup and logging) is measured, with the verified-token and
+ * principal caches on and off. The security context is cleared after every request, as the servlet
+ * container does between requests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticated;
+    private MockHttpServletRequest anonymous;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        CacheManager cacheManager = JwtServiceBenchmark.cacheManager(cached);
+        JwtService jwtService = new JwtService(cacheManager);
+        User user = User.builder().id(1L).email("bench@example.com").name("Bench").build();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        filter = new JwtAuthenticationFilter(jwtService, new PrincipalService(userRepository, cacheManager));
+
+        authenticated = new MockHttpServletRequest("GET", "/api/holdings");
+        authenticated.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+        anonymous = new MockHttpServletRequest("GET", "/api/stocks/top-movers");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        try {
+            filter.doFilter(authenticated, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Authentication anonymousRequest() throws Exception {
+        try {
+            filter.doFilter(anonymous, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
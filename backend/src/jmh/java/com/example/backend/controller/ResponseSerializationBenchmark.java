@@ -0,0 +1,142 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.Holdings;
+import com.example.backend.model.Transaction;
+import com.example.backend.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the largest response bodies: holdings and transaction lists
+ * (entities with their user, as the controllers return them) and the time series
+ * and sparkline payloads built by StockService. The mapper is configured like
+ * Spring Boot's default one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @State(Scope.Benchmark)
+    public static class Portfolio {
+        @Param({"20", "200"})
+        int rows;
+
+        List<Holdings> holdings;
+        List<Transaction> transactions;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(42);
+            User user = User.builder().id(1L).email("bench@example.com").name("Bench")
+                    .mobileNo("5550100").balance(25_000).password("{bcrypt}hash").build();
+            LocalDateTime start = LocalDateTime.of(2024, 1, 2, 9, 30);
+            holdings = new ArrayList<>(rows);
+            transactions = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                double quantity = 1 + random.nextInt(200);
+                double price = 20 + random.nextDouble() * 400;
+                holdings.add(Holdings.builder().id((long) i).user(user).stockSymbol("SYM" + i)
+                        .quantity(quantity).averagePrice(price).build());
+                transactions.add(Transaction.builder().id((long) i).user(user).stockSymbol("SYM" + (i % 25))
+                        .quantity(quantity).price(price).type(i % 3 == 0 ? "SELL" : "BUY")
+                        .timestamp(start.plusMinutes(37L * i)).total(quantity * price).build());
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Series {
+        @Param({"390", "5000"})
+        int bars;
+
+        Map<String, Object> timeSeries;
+        Map<String, Object> sparkline;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom random = new SplittableRandom(42);
+            LocalDateTime start = LocalDateTime.of(2024, 1, 2, 9, 30);
+            List<Map<String, Object>> values = new ArrayList<>(bars);
+            long[] times = new long[bars];
+            double[] closes = new double[bars];
+            double close = 180;
+            for (int i = 0; i < bars; i++) {
+                LocalDateTime barTime = start.plusMinutes(i);
+                double open = close;
+                close = open * (1 + random.nextGaussian() * 0.001);
+                // Same entry shape as StockService.getStockData
+                Map<String, Object> value = new LinkedHashMap<>();
+                value.put("datetime", barTime.format(DATE_TIME_FORMAT));
+                value.put("open", open);
+                value.put("high", Math.max(open, close) * 1.0005);
+                value.put("low", Math.min(open, close) * 0.9995);
+                value.put("close", close);
+                value.put("volume", 1_000L + random.nextInt(50_000));
+                values.add(value);
+                times[i] = barTime.toEpochSecond(ZoneOffset.UTC);
+                closes[i] = close;
+            }
+
+            timeSeries = new LinkedHashMap<>();
+            timeSeries.put("meta", Map.of("symbol", "AAPL", "interval", "1min"));
+            timeSeries.put("values", values);
+            timeSeries.put("status", "ok");
+
+            sparkline = new LinkedHashMap<>();
+            sparkline.put("symbol", "AAPL");
+            sparkline.put("interval", "1min");
+            sparkline.put("t", times);
+            sparkline.put("c", closes);
+        }
+    }
+
+    @Benchmark
+    public byte[] holdings(Portfolio portfolio) throws Exception {
+        return MAPPER.writeValueAsBytes(portfolio.holdings);
+    }
+
+    @Benchmark
+    public byte[] transactions(Portfolio portfolio) throws Exception {
+        return MAPPER.writeValueAsBytes(portfolio.transactions);
+    }
+
+    @Benchmark
+    public byte[] timeSeries(Series series) throws Exception {
+        return MAPPER.writeValueAsBytes(series.timeSeries);
+    }
+
+    @Benchmark
+    public byte[] sparkline(Series series) throws Exception {
+        return MAPPER.writeValueAsBytes(series.sparkline);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Holdings;
+import com.example.backend.model.User;
+import com.example.backend.repository.HoldingsRepository;
+import com.example.backend.repository.UserRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Position updates after a trade: the average-price math on its own, and a whole
+ * position update as the ledger does it ({@link HoldingsService#getPositions},
+ * {@link HoldingsService#applyTrade} and {@link HoldingsService#savePositions})
+ * against a mocked repository, without a database round trip.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoldingsServiceBenchmark {
+    private HoldingsService holdingsService;
+    private User user;
+
+    // Non-final fields so the math is not constant-folded
+    private double heldQuantity = 120;
+    private double averagePrice = 187.42;
+    private double quantity = 15;
+    private double price = 191.07;
+
+    @Setup
+    public void setUp() {
+        user = User.builder().id(1L).email("bench@example.com").name("Bench").build();
+        // Stub-only, so the mock does not record millions of invocations
+        HoldingsRepository holdingsRepository = Mockito.mock(HoldingsRepository.class, Mockito.withSettings().stubOnly());
+        when(holdingsRepository.findByUserAndStockSymbolIn(any(User.class), anyCollection()))
+                .thenAnswer(invocation -> List.of(Holdings.builder()
+                        .id(1L)
+                        .user(user)
+                        .stockSymbol("AAPL")
+                        .quantity(heldQuantity)
+                        .averagePrice(averagePrice)
+                        .build()));
+        when(holdingsRepository.saveAll(anyCollection())).thenAnswer(invocation -> invocation.getArgument(0));
+        holdingsService = new HoldingsService(holdingsRepository, Mockito.mock(UserRepository.class));
+    }
+
+    @Benchmark
+    public double averagePriceAfterBuy() {
+        return HoldingsService.averagePriceAfterBuy(heldQuantity, averagePrice, quantity, price);
+    }
+
+    @Benchmark
+    public Holdings updatePositionBuy() {
+        return updatePosition(true);
+    }
+
+    @Benchmark
+    public Holdings updatePositionSell() {
+        return updatePosition(false);
+    }
+
+    private Holdings updatePosition(boolean isBuy) {
+        Map<String, Holdings> positions = holdingsService.getPositions(user, List.of("AAPL"));
+        Holdings position = positions.get("AAPL");
+        HoldingsService.applyTrade(position, quantity, price, isBuy);
+        holdingsService.savePositions(positions.values());
+        return position;
+    }
+}
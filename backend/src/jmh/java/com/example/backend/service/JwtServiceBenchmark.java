@@ -0,0 +1,72 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheConfig;
+import com.example.backend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parsing and validation as done by the authentication filter on every
+ * authenticated request, with the verified-token cache on (a hot token) and off
+ * (full signature check and parse every time).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(cacheManager(cached));
+        user = User.builder().id(1L).email("bench@example.com").name("Bench").build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    /** Verified-token and principal caches with default sizes, or caches that never hit. */
+    public static CacheManager cacheManager(boolean cached) {
+        if (!cached) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager manager = new CaffeineCacheManager(CacheConfig.VERIFIED_TOKENS, CacheConfig.PRINCIPALS);
+        manager.setCacheSpecification("maximumSize=10000,expireAfterWrite=5m");
+        return manager;
+    }
+}
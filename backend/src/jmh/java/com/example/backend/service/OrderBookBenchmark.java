@@ -0,0 +1,92 @@
+package com.example.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quote ticks against one symbol's resting orders. Each invocation is one tick of
+ * a mean-reverting random walk around 100; the orders it triggers are put straight
+ * back at a new threshold 1-20 away on the far side of the price, so the book keeps
+ * its size and a steady share of orders fires. {@code book} runs the tick through
+ * {@link OrderBook}; {@code linearScan} is the check-every-order approach it
+ * replaces, for comparison. Run with e.g. {@code -Djmh.args="OrderBookBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+    @Param({"10000", "1000000"})
+    private int orders;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private double price = 100;
+
+    private OrderBook book;
+    private boolean[] atOrBelow;
+    private long[] fired;
+    private int firedCount;
+
+    private double[] thresholds;
+
+    @Setup
+    public void setUp() {
+        book = new OrderBook();
+        atOrBelow = new boolean[orders];
+        thresholds = new double[orders];
+        fired = new long[orders];
+        for (int id = 0; id < orders; id++) {
+            atOrBelow[id] = random.nextBoolean();
+            thresholds[id] = place(atOrBelow[id]);
+            book.add(id, thresholds[id], atOrBelow[id]);
+        }
+    }
+
+    @Benchmark
+    public int book() {
+        nextPrice();
+        firedCount = 0;
+        int count = book.trigger(price, id -> fired[firedCount++] = id);
+        for (int i = 0; i < firedCount; i++) {
+            int id = (int) fired[i];
+            book.add(id, place(atOrBelow[id]), atOrBelow[id]);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int linearScan() {
+        nextPrice();
+        int count = 0;
+        for (int id = 0; id < orders; id++) {
+            if (atOrBelow[id] ? price <= thresholds[id] : price >= thresholds[id]) {
+                thresholds[id] = place(atOrBelow[id]);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void nextPrice() {
+        price += 0.25 * random.nextGaussian() + 0.01 * (100 - price);
+    }
+
+    private double place(boolean below) {
+        double offset = 1 + random.nextDouble() * 19;
+        return below ? price - offset : price + offset;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.backend.service;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.model.Holdings;
+import com.example.backend.model.User;
+import com.example.backend.repository.HoldingsRepository;
+import com.example.backend.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buy orders through {@link TransactionService} against the real application
+ * context and an in-memory H2 database. {@code ownAccount} gives every benchmark
+ * thread its own account, so throughput should grow with threads up to the core
+ * count; {@code sharedAccount} sends every thread's orders to one account, which
+ * the per-account lock serializes. Compare runs with {@code -t 1}, {@code -t 4}
+ * and so on, e.g. {@code -Djmh.args="OrderExecutionBenchmark -t 4"}.
+ * <p>
+ * Every order buys one share at 1.0, so at the end of the run each account's
+ * balance and share count must equal its starting balance and zero moved by
+ * exactly the number of orders that succeeded; the run fails otherwise.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class OrderExecutionBenchmark {
+    private static final String SYMBOL = "AAPL";
+    private static final double STARTING_BALANCE = 1_000_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Exchange {
+        ConfigurableApplicationContext context;
+        TransactionService transactionService;
+        UserRepository userRepository;
+        HoldingsRepository holdingsRepository;
+        Account shared;
+        final AtomicInteger accountSequence = new AtomicInteger();
+        final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+
+        @Setup
+        public void setUp() {
+            String logConfig = System.getProperty("logback.configurationFile");
+            // Command-line arguments, so they win over application.properties
+            context = new SpringApplicationBuilder(BackendApplication.class)
+                    .profiles("synthetic")
+                    .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:orders-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--app.symbols.catalog-file=target/jmh-symbol-catalog.json",
+                        logConfig != null ? "--logging.config=" + logConfig : "--logging.level.root=WARN");
+            transactionService = context.getBean(TransactionService.class);
+            userRepository = context.getBean(UserRepository.class);
+            holdingsRepository = context.getBean(HoldingsRepository.class);
+            shared = open("shared");
+        }
+
+        Account open(String name) {
+            User user = userRepository.save(User.builder()
+                    .name(name)
+                    .email(name + "-" + accountSequence.incrementAndGet() + "@bench.example.com")
+                    .balance(STARTING_BALANCE)
+                    .build());
+            Account account = new Account(user);
+            accounts.put(user.getId(), account);
+            return account;
+        }
+
+        @TearDown
+        public void verifyAndClose() {
+            try {
+                for (Account account : accounts.values()) {
+                    long orders = account.orders.get();
+                    double balance = userRepository.findById(account.user.getId()).orElseThrow().getBalance();
+                    double shares = holdingsRepository.findByUserAndStockSymbol(account.user, SYMBOL)
+                            .map(Holdings::getQuantity).orElse(0.0);
+                    if (balance != STARTING_BALANCE - orders || shares != orders) {
+                        throw new IllegalStateException("Account " + account.user.getEmail() + " is inconsistent: "
+                                + orders + " orders, balance " + balance + ", shares " + shares);
+                    }
+                }
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    static final class Account {
+        final User user;
+        final Authentication authentication;
+        final AtomicLong orders = new AtomicLong();
+
+        Account(User user) {
+            this.user = user;
+            this.authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Trader {
+        Account own;
+
+        @Setup
+        public void setUp(Exchange exchange) {
+            own = exchange.open("trader");
+        }
+    }
+
+    @Benchmark
+    public Object ownAccount(Exchange exchange, Trader trader) {
+        return buy(exchange, trader.own);
+    }
+
+    @Benchmark
+    public Object sharedAccount(Exchange exchange) {
+        return buy(exchange, exchange.shared);
+    }
+
+    private static Object buy(Exchange exchange, Account account) {
+        SecurityContextHolder.getContext().setAuthentication(account.authentication);
+        try {
+            Object transaction = exchange.transactionService.buyStock(SYMBOL, 1, 1.0);
+            account.orders.incrementAndGet();
+            return transaction;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
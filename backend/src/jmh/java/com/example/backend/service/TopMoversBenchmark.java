@@ -0,0 +1,60 @@
+package com.example.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking step of the top movers snapshot: sort the quoted universe by percent
+ * change and keep the top and bottom {@code limit}. Each invocation ranks a fresh
+ * copy in the original (unsorted) order, since ranking sorts its input in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopMoversBenchmark {
+    @Param({"20", "500"})
+    private int universe;
+
+    @Param({"5"})
+    private int limit;
+
+    private List<Map<String, Object>> quotes;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        quotes = new ArrayList<>(universe);
+        for (int i = 0; i < universe; i++) {
+            // Same entry shape as TopMoversService.toMover
+            quotes.add(Map.of(
+                "ticker", "SYM" + i,
+                "price", 20 + random.nextDouble() * 400,
+                "change_percentage", random.nextGaussian() * 2.5,
+                "volume", 0
+            ));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> rank() {
+        return TopMoversService.rank(new ArrayList<>(quotes), limit);
+    }
+}
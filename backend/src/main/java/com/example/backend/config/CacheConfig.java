@@ -0,0 +1,82 @@
+package com.example.backend.config;
+
+import com.example.backend.dto.NewsItem;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Bounded Caffeine caches, each with its own spec (size or weight limit and
+ * expiry). Only the caches declared here exist; an unknown cache name is an
+ * error rather than a new unbounded cache. Every cache records statistics, which
+ * Actuator exports as cache.gets/cache.puts/cache.evictions meters.
+ */
+@Configuration
+public class CacheConfig {
+    public static final String COMPANY_NEWS = "companyNews";
+    public static final String COMPANY_PROFILES = "companyProfiles";
+    public static final String BASIC_FINANCIALS = "basicFinancials";
+    public static final String VERIFIED_TOKENS = "verifiedTokens";
+    public static final String PRINCIPALS = "principals";
+    public static final String IDEMPOTENT_RESPONSES = "idempotentResponses";
+
+    @Value("${app.cache.company-news.spec:maximumWeight=4000000,expireAfterWrite=10m}")
+    private String companyNewsSpec;
+
+    @Value("${app.cache.company-profiles.spec:maximumSize=5000,expireAfterWrite=7d}")
+    private String companyProfilesSpec;
+
+    @Value("${app.cache.basic-financials.spec:maximumSize=5000,expireAfterWrite=24h}")
+    private String basicFinancialsSpec;
+
+    @Value("${app.cache.verified-tokens.spec:maximumSize=10000,expireAfterWrite=5m}")
+    private String verifiedTokensSpec;
+
+    @Value("${app.cache.principals.spec:maximumSize=10000,expireAfterWrite=30s}")
+    private String principalsSpec;
+
+    @Value("${app.cache.idempotent-responses.spec:maximumSize=10000,expireAfterWrite=24h}")
+    private String idempotentResponsesSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        // A fixed (empty) name list turns off on-the-fly creation of unconfigured caches
+        manager.setCacheNames(List.of());
+        manager.registerCustomCache(COMPANY_NEWS, Caffeine.from(companyNewsSpec)
+                .weigher((Object key, Object value) -> weigh(value))
+                .recordStats()
+                .build());
+        manager.registerCustomCache(COMPANY_PROFILES, Caffeine.from(companyProfilesSpec).recordStats().build());
+        manager.registerCustomCache(BASIC_FINANCIALS, Caffeine.from(basicFinancialsSpec).recordStats().build());
+        manager.registerCustomCache(VERIFIED_TOKENS, Caffeine.from(verifiedTokensSpec).recordStats().build());
+        manager.registerCustomCache(PRINCIPALS, Caffeine.from(principalsSpec).recordStats().build());
+        manager.registerCustomCache(IDEMPOTENT_RESPONSES, Caffeine.from(idempotentResponsesSpec).recordStats().build());
+        return manager;
+    }
+
+    /** Rough retained size in bytes of a news list, dominated by its strings. */
+    static int weigh(Object value) {
+        if (!(value instanceof List<?> items)) {
+            return 1;
+        }
+        long bytes = 64;
+        for (Object item : items) {
+            if (item instanceof NewsItem news) {
+                bytes += 96 + 2L * (length(news.category()) + length(news.headline()) + length(news.image())
+                        + length(news.related()) + length(news.source()) + length(news.summary())
+                        + length(news.url()));
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
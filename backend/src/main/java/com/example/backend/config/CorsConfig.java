@@ -1,5 +1,6 @@
 package com.example.backend.config;
 
+import com.example.backend.service.IdempotencyService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -35,6 +36,7 @@ public class CorsConfig {
         
         // Allow all headers
         config.addAllowedHeader("*");
+        config.addExposedHeader(IdempotencyService.REPLAYED_HEADER);
         
         // Allow credentials (cookies, authorization headers, etc.)
         config.setAllowCredentials(true);
@@ -0,0 +1,124 @@
+package com.example.backend.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound HTTP client shared by the market-data providers (TwelveData, Finnhub).
+ * Connections are pooled per host and kept alive between calls, and every request
+ * is bounded by connect, read and total timeouts so a hung provider socket cannot
+ * pin a request thread.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${app.http.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${app.http.max-connections-per-host:50}")
+    private int maxConnectionsPerHost;
+
+    @Value("${app.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${app.http.total-timeout-ms:8000}")
+    private long totalTimeoutMs;
+
+    @Value("${app.http.pool-acquire-timeout-ms:1000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${app.http.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager providerConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient providerHttpClient(PoolingHttpClientConnectionManager providerConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(providerConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient providerHttpClient) {
+        return new RestTemplate(new DeadlineRequestFactory(providerHttpClient, totalTimeoutMs));
+    }
+
+    @Bean
+    public MeterBinder providerConnectionPoolMetrics(PoolingHttpClientConnectionManager providerConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(providerConnectionManager, "market-data");
+    }
+
+    /**
+     * Request factory that aborts any exchange still running after the total timeout.
+     * Connect and read timeouts only bound individual socket operations, so a provider
+     * trickling bytes could otherwise hold a request open indefinitely.
+     */
+    static class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+        private static final ScheduledExecutorService DEADLINES = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "http-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private final long totalTimeoutMs;
+
+        DeadlineRequestFactory(CloseableHttpClient httpClient, long totalTimeoutMs) {
+            super(httpClient);
+            this.totalTimeoutMs = totalTimeoutMs;
+        }
+
+        @Override
+        protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+            ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+            if (totalTimeoutMs > 0 && request instanceof Cancellable cancellable) {
+                // Cancelling after the exchange has completed and released its connection is a no-op
+                DEADLINES.schedule(cancellable::cancel, totalTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+            return request;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MarketDataConfig {
+
+    /**
+     * Bounded pool used to fan out provider calls. Kept separate from the Tomcat
+     * workers so a slow provider cannot exhaust request threads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor marketDataExecutor(
+        @Value("${app.market-data.pool-size:16}") int poolSize,
+        @Value("${app.market-data.queue-capacity:500}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("market-data-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
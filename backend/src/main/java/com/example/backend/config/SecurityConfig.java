@@ -1,5 +1,6 @@
 package com.example.backend.config;
 
+import com.example.backend.service.IdempotencyService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
@@ -46,10 +47,12 @@ public class SecurityConfig {
                 .requestMatchers("/api/stocks/top-movers").permitAll()
                 .requestMatchers("/api/stocks/news").permitAll()
                 .requestMatchers("/api/stocks/*/quote").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/stocks/quotes").permitAll()
                 .requestMatchers("/api/stocks/search").permitAll()
                 .requestMatchers("/api/stocks/*/fundamentals").permitAll()
                 .requestMatchers("/api/stocks/*/financials").permitAll()
-                .requestMatchers("/api/health").permitAll()
+                .requestMatchers("/api/health", "/api/health/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/watchlists/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/stocks/**").permitAll()
@@ -58,6 +61,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/users/**").authenticated()
                 .requestMatchers("/api/holdings/**").authenticated()
                 .requestMatchers("/api/transactions/**").authenticated()
+                .requestMatchers("/api/orders/**").authenticated()
+                .requestMatchers("/actuator/**").authenticated()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -77,8 +82,8 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(allowedOrigins);
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", IdempotencyService.KEY_HEADER));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", IdempotencyService.REPLAYED_HEADER));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,56 @@
+package com.example.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the transaction id sequence past rows written while ids were IDENTITY
+ * columns. Hibernate's pooled optimizer hands out the block
+ * {@code (value - allocationSize, value]} for each sequence value, so the next
+ * value must be at least {@code max(id) + allocationSize}. Runs once at startup,
+ * before any transaction is inserted; a database that is already aligned is left
+ * alone (apart from one skipped block).
+ */
+@Component
+public class TransactionIdSequence {
+    private static final Logger log = LoggerFactory.getLogger(TransactionIdSequence.class);
+    static final String SEQUENCE = "transaction_seq";
+    static final int ALLOCATION_SIZE = 50;
+
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionIdSequence(EntityManager entityManager, EntityManagerFactory entityManagerFactory,
+                                 TransactionTemplate transactionTemplate) {
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void alignWithExistingRows() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long maxId = entityManager.createQuery("select max(t.id) from Transaction t", Long.class).getSingleResult();
+            if (maxId == null) {
+                return;
+            }
+            Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+            long next = ((Number) entityManager
+                    .createNativeQuery(dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE))
+                    .getSingleResult()).longValue();
+            if (next - ALLOCATION_SIZE < maxId) {
+                long restart = maxId + ALLOCATION_SIZE;
+                entityManager.createNativeQuery("alter sequence " + SEQUENCE + " restart with " + restart).executeUpdate();
+                log.info("Restarted {} at {} to follow existing transaction ids (max {})", SEQUENCE, restart, maxId);
+            }
+        });
+    }
+}
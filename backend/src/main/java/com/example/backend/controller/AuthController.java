@@ -43,4 +43,10 @@ public class AuthController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-} 
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout() {
+        authenticationService.logout();
+        return ResponseEntity.noContent().build();
+    }
+}
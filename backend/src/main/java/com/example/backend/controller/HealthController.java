@@ -1,17 +1,31 @@
 package com.example.backend.controller;
 
+import com.example.backend.service.ProviderBudgetManager;
+import com.example.backend.service.ProviderCircuitBreakers;
+import com.example.backend.service.QuoteStreamHub;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/api/health")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final ProviderBudgetManager budgetManager;
+    private final ProviderCircuitBreakers circuitBreakers;
+    private final QuoteStreamHub quoteStreamHub;
+    private final CacheManager cacheManager;
+
     @Value("${twelvedata.api.key:}")
     private String twelveDataKey;
 
@@ -29,4 +43,41 @@ public class HealthController {
             "finnhubKeySet", finnhubKey != null && !finnhubKey.isBlank()
         ));
     }
+
+    @GetMapping("/budget")
+    public ResponseEntity<Map<String, Object>> budget() {
+        return ResponseEntity.ok(budgetManager.getStats());
+    }
+
+    @GetMapping("/breakers")
+    public ResponseEntity<Map<String, Object>> breakers() {
+        return ResponseEntity.ok(circuitBreakers.getStats());
+    }
+
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> caches() {
+        Map<String, Object> stats = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats counters = cache.getNativeCache().stats();
+                stats.put(name, Map.of(
+                    "size", cache.getNativeCache().estimatedSize(),
+                    "hits", counters.hitCount(),
+                    "misses", counters.missCount(),
+                    "hitRate", counters.hitRate(),
+                    "evictions", counters.evictionCount(),
+                    "evictionWeight", counters.evictionWeight()
+                ));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<Map<String, Object>> stream() {
+        return ResponseEntity.ok(Map.of(
+            "subscribers", quoteStreamHub.getSubscriberCount(),
+            "slowConsumerEvictions", quoteStreamHub.getEvictionCount()
+        ));
+    }
 }
@@ -0,0 +1,61 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.Order;
+import com.example.backend.service.IdempotencyService;
+import com.example.backend.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.backend.controller.RequestFields.parseRequiredDouble;
+import static com.example.backend.controller.RequestFields.parseRequiredString;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderController {
+    private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Places a resting order. Body: {@code {"symbol": "AAPL", "side": "BUY",
+     * "type": "LIMIT", "quantity": 2, "price": 170}}, where {@code price} is the
+     * limit or stop price.
+     */
+    @PostMapping
+    public ResponseEntity<?> placeOrder(@RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+                                        @RequestBody Map<String, Object> request) {
+        return idempotencyService.execute(idempotencyKey, "order", request, () -> place(request));
+    }
+
+    private ResponseEntity<?> place(Map<String, Object> request) {
+        try {
+            Order order = orderService.placeOrder(
+                    parseRequiredString(request, "symbol"),
+                    parseRequiredString(request, "side"),
+                    parseRequiredString(request, "type"),
+                    parseRequiredDouble(request, "quantity"),
+                    parseRequiredDouble(request, "price"));
+            return ResponseEntity.ok(order);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Order>> getUserOrders() {
+        return ResponseEntity.ok(orderService.getUserOrders());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancelOrder(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(orderService.cancelOrder(id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
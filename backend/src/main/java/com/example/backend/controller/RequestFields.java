@@ -0,0 +1,34 @@
+package com.example.backend.controller;
+
+import java.util.Map;
+
+/** Required fields of a JSON request body parsed into a map; missing or malformed ones throw. */
+final class RequestFields {
+
+    private RequestFields() {
+    }
+
+    static String parseRequiredString(Map<String, Object> request, String key) {
+        Object value = request.get(key);
+        if (value == null) {
+            throw new RuntimeException("Missing field: " + key);
+        }
+        String result = value.toString().trim();
+        if (result.isEmpty()) {
+            throw new RuntimeException("Missing field: " + key);
+        }
+        return result;
+    }
+
+    static double parseRequiredDouble(Map<String, Object> request, String key) {
+        Object value = request.get(key);
+        if (value == null) {
+            throw new RuntimeException("Missing field: " + key);
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid number for: " + key);
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package com.example.backend.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import com.example.backend.service.StockService;
 import com.example.backend.service.FinnhubService;
+import com.example.backend.service.FundamentalsService;
+import com.example.backend.service.MarketSnapshotService;
+import com.example.backend.service.ProviderBudgetExceededException;
+import com.example.backend.service.ProviderUnavailableException;
+import com.example.backend.service.QuoteService;
+import com.example.backend.service.QuoteStreamHub;
+import com.example.backend.service.RequestPriority;
+import com.example.backend.service.SymbolSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,18 +31,26 @@ import java.util.stream.Collectors;
 public class StockController {
     private final StockService stockService;
     private final FinnhubService finnhubService;
+    private final FundamentalsService fundamentalsService;
+    private final MarketSnapshotService marketSnapshotService;
+    private final QuoteService quoteService;
+    private final SymbolSearchService symbolSearchService;
+    private final QuoteStreamHub quoteStreamHub;
     private static final Logger log = LoggerFactory.getLogger(StockController.class);
     
     @Value("${finnhub.api.key}")
     private String finnhubKey;
 
+    @Value("${app.quote-batch.max-symbols:100}")
+    private int maxBatchSymbols;
+
+    @Value("${app.candles.max-output-size:5000}")
+    private int maxOutputSize;
+
     @GetMapping("/search")
     public ResponseEntity<Map<String, Object>> searchStocks(@RequestParam String symbol) {
         try {
-            log.info("Searching for symbol: {}", symbol);
-            Map<String, Object> result = stockService.searchStocks(symbol);
-            log.info("Search results: {}", result);
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(symbolSearchService.search(symbol));
         } catch (Exception e) {
             log.error("Error searching stocks: ", e);
             return ResponseEntity.badRequest().build();
@@ -43,77 +60,98 @@ public class StockController {
     @GetMapping("/{symbol}/data")
     public ResponseEntity<Object> getStockData(
             @PathVariable String symbol,
-            @RequestParam(defaultValue = "1h") String interval) {
+            @RequestParam(defaultValue = "1h") String interval,
+            @RequestParam(defaultValue = "30") int outputsize,
+            @RequestParam(defaultValue = "0") int points) {
         try {
-            return ResponseEntity.ok(stockService.getStockData(symbol, interval));
+            return ResponseEntity.ok(stockService.getStockData(
+                    symbol, interval, Math.min(outputsize, maxOutputSize), points));
         } catch (Exception e) {
             log.error("Error fetching stock data for {}: {}", symbol, e.getMessage(), e);
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return errorResponse(e);
+        }
+    }
+
+    @GetMapping("/{symbol}/sparkline")
+    public ResponseEntity<Object> getSparkline(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "1day") String interval,
+            @RequestParam(defaultValue = "30") int window,
+            @RequestParam(defaultValue = "24") int points) {
+        try {
+            return ResponseEntity.ok(stockService.getSparkline(
+                    symbol, interval, Math.min(window, maxOutputSize), points));
+        } catch (Exception e) {
+            log.error("Error fetching sparkline for {}: {}", symbol, e.getMessage(), e);
+            return errorResponse(e);
         }
     }
 
     @GetMapping("/{symbol}/quote")
     public ResponseEntity<Object> getQuote(@PathVariable String symbol) {
         try {
-            return ResponseEntity.ok(stockService.getQuote(symbol));
+            symbolSearchService.recordInterest(symbol);
+            return ResponseEntity.ok(quoteService.getQuote(symbol));
         } catch (Exception e) {
             log.error("Error fetching quote for {}: {}", symbol, e.getMessage(), e);
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return errorResponse(e);
         }
     }
 
-    @GetMapping("/top-movers")
-    @Cacheable(value = "topMovers", sync = true)
-    public ResponseEntity<Object> getTopMovers() {
+    @PostMapping("/quotes")
+    public ResponseEntity<Object> getQuotes(@RequestBody Map<String, Object> request) {
         try {
-            if (finnhubKey == null || finnhubKey.isBlank()) {
-                return ResponseEntity.badRequest().body("Finnhub API key not configured");
-            }
-            log.info("Fetching top movers via Finnhub quotes");
-            List<String> symbols = List.of(
-                "AAPL","MSFT","AMZN","NVDA","GOOGL","META","TSLA","JPM","V","UNH",
-                "XOM","PG","KO","DIS","AMD","NFLX","BA","WMT","COST","INTC"
-            );
-
-            List<Map<String, Object>> quotes = new ArrayList<>();
-            for (String symbol : symbols) {
-                try {
-                    Map<String, Object> quote = finnhubService.getQuote(symbol);
-                    double price = parseDouble(quote.get("c"));
-                    double percentChange = parseDouble(quote.get("dp"));
-                    quotes.add(Map.of(
-                        "ticker", symbol,
-                        "price", price,
-                        "change_percentage", percentChange,
-                        "volume", 0
-                    ));
-                } catch (Exception e) {
-                    log.warn("Skipping symbol {} due to quote error: {}", symbol, e.getMessage());
-                }
+            Object rawSymbols = request.get("symbols");
+            if (!(rawSymbols instanceof List<?> symbolList) || symbolList.isEmpty()) {
+                return ResponseEntity.badRequest().body("Missing field: symbols");
             }
-
-            if (quotes.isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body("Finnhub API error: no quotes returned. Check API key or rate limits.");
+            if (symbolList.size() > maxBatchSymbols) {
+                return ResponseEntity.badRequest().body("Too many symbols, max is " + maxBatchSymbols);
             }
-
-            quotes.sort(Comparator.comparingDouble(o -> parseDouble(o.get("change_percentage"))));
-            List<Map<String, Object>> topLosers = quotes.stream().limit(5).collect(Collectors.toList());
-            List<Map<String, Object>> topGainers = quotes.stream()
-                    .sorted(Comparator.comparingDouble(o -> -parseDouble(o.get("change_percentage"))))
-                    .limit(5)
+            List<String> symbols = symbolList.stream()
+                    .filter(s -> s != null)
+                    .map(Object::toString)
                     .collect(Collectors.toList());
+            return ResponseEntity.ok(quoteService.getQuotes(symbols, RequestPriority.INTERACTIVE));
+        } catch (Exception e) {
+            log.error("Error fetching batch quotes: {}", e.getMessage(), e);
+            return errorResponse(e);
+        }
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("top_gainers", topGainers);
-            response.put("top_losers", topLosers);
-            return ResponseEntity.ok(response);
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamQuotes(@RequestParam String symbols) {
+        List<String> symbolList = Arrays.asList(symbols.split(","));
+        if (symbolList.size() > maxBatchSymbols) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many symbols, max is " + maxBatchSymbols);
+        }
+        for (String symbol : symbolList) {
+            if (!symbol.isBlank() && !symbolSearchService.isListed(symbol)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown symbol: " + symbol.trim());
+            }
+        }
+        try {
+            return ResponseEntity.ok()
+                    // Tell nginx not to buffer the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(quoteStreamHub.subscribe(symbolList));
         } catch (Exception e) {
-            log.error("Error fetching top movers: ", e);
-            return ResponseEntity.badRequest().build();
+            log.warn("Could not open quote stream: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
         }
     }
 
+    @GetMapping("/top-movers")
+    public ResponseEntity<Object> getTopMovers() {
+        if (finnhubKey == null || finnhubKey.isBlank()) {
+            return ResponseEntity.badRequest().body("Finnhub API key not configured");
+        }
+        return marketSnapshotService.getTopMovers()
+                .<ResponseEntity<Object>>map(snapshot -> ResponseEntity.ok(snapshot.value()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body("Top movers are still loading, try again shortly"));
+    }
+
     @GetMapping("/{symbol}/fundamentals")
     public ResponseEntity<Object> getFundamentals(@PathVariable String symbol) {
         try {
@@ -121,29 +159,10 @@ public class StockController {
                 return ResponseEntity.badRequest().body("Finnhub API key not configured");
             }
             log.info("Fetching fundamentals for symbol: {} (Finnhub)", symbol);
-            Map<String, Object> profile = finnhubService.getCompanyProfile(symbol);
-            Map<String, Object> financials = finnhubService.getBasicFinancials(symbol);
-
-            Map<String, Object> metric = financials != null && financials.get("metric") instanceof Map<?, ?>
-                ? (Map<String, Object>) financials.get("metric")
-                : Map.of();
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("CompanyName", profile.getOrDefault("name", null));
-            response.put("Industry", profile.getOrDefault("finnhubIndustry", null));
-            response.put("Weburl", profile.getOrDefault("weburl", null));
-            response.put("Country", profile.getOrDefault("country", null));
-            response.put("MarketCapitalization", metric.getOrDefault("marketCapitalization", profile.getOrDefault("marketCapitalization", null)));
-            response.put("PERatio", metric.getOrDefault("peBasicExclExtraTTM", null));
-            response.put("DividendYield", metric.getOrDefault("dividendYieldIndicatedAnnual", null));
-            response.put("Beta", metric.getOrDefault("beta", null));
-            response.put("BookValue", metric.getOrDefault("bookValuePerShareAnnual", null));
-            response.put("EPS", metric.getOrDefault("epsTTM", null));
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(fundamentalsService.getFundamentals(symbol));
         } catch (Exception e) {
             log.error("Error fetching fundamentals: ", e);
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return errorResponse(e);
         }
     }
 
@@ -154,54 +173,45 @@ public class StockController {
                 return ResponseEntity.badRequest().body("Finnhub API key not configured");
             }
             log.info("Fetching financials for symbol: {} (Finnhub)", symbol);
-            Map<String, Object> financials = finnhubService.getBasicFinancials(symbol);
-            return ResponseEntity.ok(financials);
+            return ResponseEntity.ok(finnhubService.getBasicFinancials(symbol));
         } catch (Exception e) {
             log.error("Error fetching financials: ", e);
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return errorResponse(e);
         }
     }
 
     @GetMapping("/news")
-    @Cacheable(value = "marketNews", sync = true)
     public ResponseEntity<Object> getMarketNews() {
-        try {
-            if (finnhubKey == null || finnhubKey.isBlank()) {
-                return ResponseEntity.badRequest().body("Finnhub API key not configured");
-            }
-            log.info("Fetching market news from Finnhub");
-            List<Map<String, Object>> news = finnhubService.getMarketNews();
-            return ResponseEntity.ok(news);
-        } catch (Exception e) {
-            log.error("Error fetching market news: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().body(e.getMessage());
+        if (finnhubKey == null || finnhubKey.isBlank()) {
+            return ResponseEntity.badRequest().body("Finnhub API key not configured");
         }
+        return marketSnapshotService.getMarketNews()
+                .<ResponseEntity<Object>>map(snapshot -> ResponseEntity.ok(snapshot.value()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body("Market news is still loading, try again shortly"));
     }
 
     @GetMapping("/{symbol}/news")
-    @Cacheable(value = "companyNews", key = "#symbol", sync = true)
     public ResponseEntity<Object> getCompanyNews(@PathVariable String symbol) {
         try {
             if (finnhubKey == null || finnhubKey.isBlank()) {
                 return ResponseEntity.badRequest().body("Finnhub API key not configured");
             }
             log.info("Fetching company news for {}", symbol);
-            List<Map<String, Object>> news = finnhubService.getCompanyNews(symbol);
-            return ResponseEntity.ok(news);
+            return ResponseEntity.ok(finnhubService.getCompanyNews(symbol));
         } catch (Exception e) {
             log.error("Error fetching company news: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return errorResponse(e);
         }
     }
 
-    private double parseDouble(Object value) {
-        if (value == null) {
-            return 0.0;
+    private ResponseEntity<Object> errorResponse(Exception e) {
+        if (e instanceof ProviderBudgetExceededException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
         }
-        try {
-            return Double.parseDouble(value.toString());
-        } catch (NumberFormatException e) {
-            return 0.0;
+        if (e instanceof ProviderUnavailableException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
         }
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
 }
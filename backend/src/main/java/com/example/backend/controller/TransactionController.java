@@ -1,22 +1,34 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.OrderLeg;
 import com.example.backend.model.Transaction;
+import com.example.backend.service.IdempotencyService;
 import com.example.backend.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static com.example.backend.controller.RequestFields.parseRequiredDouble;
+import static com.example.backend.controller.RequestFields.parseRequiredString;
+
 @RestController
 @RequestMapping("/api/transactions")
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/buy")
-    public ResponseEntity<?> buyStock(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> buyStock(@RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+                                      @RequestBody Map<String, Object> request) {
+        return idempotencyService.execute(idempotencyKey, "buy", request, () -> buy(request));
+    }
+
+    private ResponseEntity<?> buy(Map<String, Object> request) {
         try {
             String symbol = parseRequiredString(request, "symbol");
             double quantity = parseRequiredDouble(request, "quantity");
@@ -33,7 +45,12 @@ public class TransactionController {
     }
 
     @PostMapping("/sell")
-    public ResponseEntity<?> sellStock(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> sellStock(@RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+                                      @RequestBody Map<String, Object> request) {
+        return idempotencyService.execute(idempotencyKey, "sell", request, () -> sell(request));
+    }
+
+    private ResponseEntity<?> sell(Map<String, Object> request) {
         try {
             String symbol = parseRequiredString(request, "symbol");
             double quantity = parseRequiredDouble(request, "quantity");
@@ -49,32 +66,58 @@ public class TransactionController {
         }
     }
 
-    @GetMapping
-    public ResponseEntity<List<Transaction>> getUserTransactions() {
-        return ResponseEntity.ok(transactionService.getUserTransactions());
+    /**
+     * Executes several orders atomically. Body: {@code {"legs": [{"symbol": "AAPL",
+     * "type": "BUY", "quantity": 2, "price": 180.5}, ...]}}; legs run in the given order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> executeBatch(@RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+                                          @RequestBody Map<String, Object> request) {
+        return idempotencyService.execute(idempotencyKey, "batch", request, () -> batch(request));
     }
 
-    private static String parseRequiredString(Map<String, Object> request, String key) {
-        Object value = request.get(key);
-        if (value == null) {
-            throw new RuntimeException("Missing field: " + key);
-        }
-        String result = value.toString().trim();
-        if (result.isEmpty()) {
-            throw new RuntimeException("Missing field: " + key);
+    private ResponseEntity<?> batch(Map<String, Object> request) {
+        try {
+            if (!(request.get("legs") instanceof List<?> rawLegs)) {
+                throw new RuntimeException("Missing field: legs");
+            }
+            List<OrderLeg> legs = new ArrayList<>(rawLegs.size());
+            for (Object rawLeg : rawLegs) {
+                if (!(rawLeg instanceof Map<?, ?> leg)) {
+                    throw new RuntimeException("Invalid leg: " + rawLeg);
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> fields = (Map<String, Object>) leg;
+                legs.add(new OrderLeg(
+                        parseRequiredString(fields, "symbol"),
+                        parseSide(fields),
+                        parseRequiredDouble(fields, "quantity"),
+                        parseRequiredDouble(fields, "price")));
+            }
+
+            List<Transaction> transactions = transactionService.executeBatch(legs);
+            return ResponseEntity.ok(Map.of(
+                "transactions", transactions,
+                "user", transactions.get(0).getUser()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        return result;
     }
 
-    private static double parseRequiredDouble(Map<String, Object> request, String key) {
-        Object value = request.get(key);
-        if (value == null) {
-            throw new RuntimeException("Missing field: " + key);
+    @GetMapping
+    public ResponseEntity<List<Transaction>> getUserTransactions() {
+        return ResponseEntity.ok(transactionService.getUserTransactions());
+    }
+
+    private static boolean parseSide(Map<String, Object> request) {
+        String type = parseRequiredString(request, "type");
+        if (type.equalsIgnoreCase("BUY")) {
+            return true;
         }
-        try {
-            return Double.parseDouble(value.toString());
-        } catch (NumberFormatException e) {
-            throw new RuntimeException("Invalid number for: " + key);
+        if (type.equalsIgnoreCase("SELL")) {
+            return false;
         }
+        throw new RuntimeException("Invalid type: " + type);
     }
 }
@@ -0,0 +1,25 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Finnhub's basic financials, reduced to the numeric {@code metric} block. The
+ * per-period {@code series} history is not kept.
+ */
+public record BasicFinancials(
+    String symbol,
+    Map<String, Double> metric,
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean stale
+) implements StaleMarkable<BasicFinancials> {
+
+    public Double get(String name) {
+        return metric.get(name);
+    }
+
+    @Override
+    public BasicFinancials markStale() {
+        return new BasicFinancials(symbol, metric, true);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.backend.dto;
+
+public record CompanyProfile(
+    String ticker,
+    String name,
+    String exchange,
+    String country,
+    String currency,
+    String industry,
+    String weburl,
+    String logo,
+    String ipo,
+    double marketCapitalization,
+    double shareOutstanding,
+    boolean stale
+) implements StaleMarkable<CompanyProfile> {
+
+    @Override
+    public CompanyProfile markStale() {
+        return new CompanyProfile(ticker, name, exchange, country, currency, industry, weburl, logo, ipo,
+            marketCapitalization, shareOutstanding, true);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+public record FinnhubQuote(
+    double current,
+    double change,
+    double percentChange,
+    double high,
+    double low,
+    double open,
+    double previousClose,
+    long timestamp,
+    boolean stale
+) implements StaleMarkable<FinnhubQuote> {
+
+    @Override
+    public FinnhubQuote markStale() {
+        return new FinnhubQuote(current, change, percentChange, high, low, open, previousClose, timestamp, true);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto;
+
+/**
+ * A response remembered under an {@code Idempotency-Key}. {@code fingerprint}
+ * identifies the request that produced it, so reusing the key for a different
+ * request is detected; {@code body} is the response serialized as JSON.
+ */
+public record IdempotentResponse(String fingerprint, int status, String body) {
+}
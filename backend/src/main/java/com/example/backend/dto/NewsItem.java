@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+public record NewsItem(
+    long id,
+    String category,
+    long datetime,
+    String headline,
+    String image,
+    String related,
+    String source,
+    String summary,
+    String url
+) {
+}
@@ -0,0 +1,5 @@
+package com.example.backend.dto;
+
+/** One leg of a batch order: buy or sell {@code quantity} shares of {@code symbol} at {@code price}. */
+public record OrderLeg(String symbol, boolean buy, double quantity, double price) {
+}
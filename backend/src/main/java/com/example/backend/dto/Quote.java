@@ -0,0 +1,44 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Provider-neutral quote. Field names follow TwelveData's quote response, which is
+ * what the frontend already reads; {@code source} says which provider answered.
+ */
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Quote implements StaleMarkable<Quote> {
+    private String symbol;
+    private String name;
+    private String exchange;
+    private String currency;
+    private Double open;
+    private Double high;
+    private Double low;
+    private Double close;
+    @JsonProperty("previous_close")
+    private Double previousClose;
+    private Double change;
+    @JsonProperty("percent_change")
+    private Double percentChange;
+    private Long volume;
+    private Long timestamp;
+    @JsonProperty("is_market_open")
+    private Boolean marketOpen;
+    private String source;
+    private Boolean stale;
+
+    @Override
+    public Quote markStale() {
+        return toBuilder().stale(true).build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto;
+
+/**
+ * A provider response that can be served past its freshness, flagged as stale,
+ * when the provider is unavailable.
+ */
+public interface StaleMarkable<T> {
+    T markStale();
+}
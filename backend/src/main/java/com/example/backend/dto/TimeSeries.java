@@ -0,0 +1,17 @@
+package com.example.backend.dto;
+
+/**
+ * A TwelveData time_series response held in parallel primitive arrays, in the
+ * provider's order (newest first). Bar times are epoch seconds of the exchange
+ * local bar start, read as UTC.
+ */
+public record TimeSeries(
+    int size,
+    long[] times,
+    double[] open,
+    double[] high,
+    double[] low,
+    double[] close,
+    long[] volume
+) {
+}
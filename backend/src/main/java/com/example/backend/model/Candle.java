@@ -0,0 +1,34 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"symbol", "bar_interval", "bar_time"}))
+public class Candle {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String symbol;
+
+    @Column(name = "bar_interval")
+    private String interval;
+
+    @Column(name = "bar_time")
+    private LocalDateTime barTime;
+
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+}
@@ -0,0 +1,29 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = @Index(columnList = "createdAt"))
+public class IdempotencyRecord {
+    // "<user id>:<Idempotency-Key>"
+    @Id
+    @Column(length = 300)
+    private String id;
+
+    private String fingerprint;
+    private int status;
+
+    @Lob
+    private String body;
+
+    private LocalDateTime createdAt;
+}
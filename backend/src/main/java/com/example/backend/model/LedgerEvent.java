@@ -0,0 +1,71 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDateTime;
+
+/**
+ * One entry in a user's append-only ledger, the source of truth for balances and
+ * positions. {@code sequence} numbers a user's events from 1 without gaps; the
+ * unique constraint makes two writers that raced for the same number fail
+ * instead of forking the ledger. Events are never updated or deleted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"userId", "sequence"}))
+public class LedgerEvent {
+    // Opening balance or position of an account that predates the ledger
+    public static final String GENESIS = "GENESIS";
+    public static final String DEPOSIT = "DEPOSIT";
+    public static final String BUY = "BUY";
+    public static final String SELL = "SELL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_event_seq")
+    @SequenceGenerator(name = "ledger_event_seq", sequenceName = "ledger_event_seq", allocationSize = 50)
+    private Long id;
+
+    private Long userId;
+    private long sequence;
+    private String type;
+
+    // Set for GENESIS positions and trades, null for cash-only events
+    private String stockSymbol;
+    private double quantity;
+    private double price;
+
+    // Signed change to the cash balance
+    private double cashDelta;
+
+    private Long transactionId;
+    private LocalDateTime createdAt;
+
+    public static LedgerEvent trade(Transaction transaction) {
+        boolean buy = BUY.equals(transaction.getType());
+        return LedgerEvent.builder()
+                .type(buy ? BUY : SELL)
+                .stockSymbol(transaction.getStockSymbol())
+                .quantity(transaction.getQuantity())
+                .price(transaction.getPrice())
+                .cashDelta(buy ? -transaction.getTotal() : transaction.getTotal())
+                .transactionId(transaction.getId())
+                .createdAt(transaction.getTimestamp())
+                .build();
+    }
+
+    public static LedgerEvent deposit(double amount) {
+        return LedgerEvent.builder()
+                .type(DEPOSIT)
+                .cashDelta(amount)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A user's ledger state replayed up to and including event {@code sequence}, so a
+ * replay only has to apply the events after it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = @Index(columnList = "userId, sequence"))
+public class LedgerSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+    private long sequence;
+    private double balance;
+
+    // {"AAPL": [quantity, averagePrice], ...}
+    @Lob
+    private String positions;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,50 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A resting limit or stop order. While {@code OPEN} it sits in the
+ * {@link com.example.backend.service.OrderMatchingEngine}; the first quote that
+ * crosses {@code triggerPrice} executes it at that quote's price.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "orders", indexes = @Index(columnList = "status"))
+public class Order {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User user;
+
+    private String stockSymbol;
+    private String side; // BUY or SELL
+    private String type; // LIMIT or STOP
+    private double quantity;
+    private double triggerPrice;
+    private String status; // OPEN, FILLED, CANCELLED or REJECTED
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+    private Double fillPrice;
+    private Long transactionId;
+    private String message;
+
+    /**
+     * Buy limits and sell stops fire once the price falls to the threshold; sell
+     * limits and buy stops once it rises to it.
+     */
+    public boolean triggersAtOrBelow() {
+        return "BUY".equals(side) == "LIMIT".equals(type);
+    }
+}
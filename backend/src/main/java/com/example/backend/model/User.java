@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -33,6 +34,19 @@ public class User implements UserDetails {
     @Builder.Default
     private String role = "ROLE_USER";
 
+    // Embedded in issued tokens; bumping it revokes every token issued before
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Builder.Default
+    private int tokenVersion = 0;
+
+    // Optimistic lock: a balance update from a stale copy of the row fails instead of being lost
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    @Builder.Default
+    private long version = 0;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role));
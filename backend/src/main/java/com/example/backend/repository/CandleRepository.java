@@ -0,0 +1,15 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Candle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CandleRepository extends JpaRepository<Candle, Long> {
+    long countBySymbolAndInterval(String symbol, String interval);
+    Optional<Candle> findFirstBySymbolAndIntervalOrderByBarTimeDesc(String symbol, String interval);
+    List<Candle> findBySymbolAndIntervalOrderByBarTimeDesc(String symbol, String interval, Pageable pageable);
+    List<Candle> findBySymbolAndIntervalAndBarTimeGreaterThanEqual(String symbol, String interval, LocalDateTime from);
+}
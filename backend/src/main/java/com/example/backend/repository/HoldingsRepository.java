@@ -3,10 +3,12 @@ package com.example.backend.repository;
 import com.example.backend.model.Holdings;
 import com.example.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 public interface HoldingsRepository extends JpaRepository<Holdings, Long> {
     Optional<Holdings> findByUserAndStockSymbol(User user, String stockSymbol);
     List<Holdings> findByUser(User user);
+    List<Holdings> findByUserAndStockSymbolIn(User user, Collection<String> stockSymbols);
 } 
\ No newline at end of file
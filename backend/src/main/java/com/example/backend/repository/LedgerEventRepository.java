@@ -0,0 +1,18 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.LedgerEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LedgerEventRepository extends JpaRepository<LedgerEvent, Long> {
+    @Query("select max(e.sequence) from LedgerEvent e where e.userId = :userId")
+    Long findLastSequence(@Param("userId") Long userId);
+
+    List<LedgerEvent> findByUserIdAndSequenceGreaterThanOrderBySequence(Long userId, long sequence);
+
+    @Query("select u.id from User u where not exists (select e.id from LedgerEvent e where e.userId = u.id)")
+    List<Long> findUserIdsWithoutEvents();
+}
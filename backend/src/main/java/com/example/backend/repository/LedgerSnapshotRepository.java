@@ -0,0 +1,17 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.LedgerSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface LedgerSnapshotRepository extends JpaRepository<LedgerSnapshot, Long> {
+    Optional<LedgerSnapshot> findFirstByUserIdOrderBySequenceDesc(Long userId);
+
+    @Modifying
+    @Query("delete from LedgerSnapshot s where s.userId = :userId and s.sequence < :sequence")
+    int deleteOlderThan(@Param("userId") Long userId, @Param("sequence") long sequence);
+}
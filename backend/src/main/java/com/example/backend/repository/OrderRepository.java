@@ -0,0 +1,10 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface OrderRepository extends JpaRepository<Order, Long> {
+    List<Order> findByStatus(String status);
+    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
+}
@@ -0,0 +1,13 @@
+package com.example.backend.service;
+
+/**
+ * The account's lock could not be taken in time. Nothing was attempted, so the
+ * work can simply be retried later.
+ */
+public class AccountBusyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public AccountBusyException(String message) {
+        super(message);
+    }
+}
@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +23,7 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final PrincipalService principalService;
 
     @PostConstruct
     public void init() {
@@ -81,6 +83,17 @@ public class AuthenticationService {
         }
     }
 
+    /**
+     * Revokes every token of the calling user, not only the one presented, since
+     * tokens carry a per-user version rather than an id of their own.
+     */
+    public void logout() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User user) {
+            principalService.revokeTokens(user.getId());
+        }
+    }
+
     private UserDTO mapToUserDTO(User user) {
         return UserDTO.builder()
                 .id(user.getId())
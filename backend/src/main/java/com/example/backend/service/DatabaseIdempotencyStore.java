@@ -0,0 +1,62 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.IdempotentResponse;
+import com.example.backend.model.IdempotencyRecord;
+import com.example.backend.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps responses in the {@code idempotency_record} table, so a retry is recognized
+ * after a restart or on another instance. Expired rows are ignored on read and
+ * purged on a schedule, which bounds the table by the request rate times the TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseIdempotencyStore.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository,
+                                    @Value("${app.idempotency.ttl-hours:24}") long ttlHours) {
+        this.repository = repository;
+        this.ttl = Duration.ofHours(ttlHours);
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        return repository.findById(key)
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .map(record -> new IdempotentResponse(record.getFingerprint(), record.getStatus(), record.getBody()));
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        repository.save(IdempotencyRecord.builder()
+                .id(key)
+                .fingerprint(response.fingerprint())
+                .status(response.status())
+                .body(response.body())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = repository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency records", purged);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BasicFinancials;
+import com.example.backend.dto.CompanyProfile;
+import com.example.backend.dto.FinnhubQuote;
+import com.example.backend.dto.NewsItem;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Raw Finnhub endpoints used by {@link FinnhubService}. Implementations only talk
+ * to the provider; budgets, circuit breakers and caching stay in the service.
+ */
+public interface FinnhubClient {
+
+    List<NewsItem> marketNews();
+
+    List<NewsItem> companyNews(String symbol, LocalDate from, LocalDate to);
+
+    CompanyProfile profile(String symbol);
+
+    BasicFinancials metrics(String symbol);
+
+    FinnhubQuote quote(String symbol);
+}
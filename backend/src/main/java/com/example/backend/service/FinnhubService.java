@@ -1,92 +1,123 @@
 package com.example.backend.service;
 
+import com.example.backend.config.CacheConfig;
+import com.example.backend.dto.BasicFinancials;
+import com.example.backend.dto.CompanyProfile;
+import com.example.backend.dto.FinnhubQuote;
+import com.example.backend.dto.NewsItem;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class FinnhubService {
-    private static final String BASE_URL = "https://finnhub.io/api/v1";
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+    private final FinnhubClient client;
+    private final ProviderBudgetManager budgetManager;
+    private final ProviderCircuitBreakers breakers;
+    private final CacheManager cacheManager;
 
-    private final RestTemplate restTemplate;
+    @Value("${app.quote-cache.ttl-seconds:15}")
+    private long quoteCacheTtlSeconds;
 
-    @Value("${finnhub.api.key}")
-    private String apiKey;
+    @Value("${app.quote-cache.max-entries:10000}")
+    private long quoteCacheMaxEntries;
 
-    public List<Map<String, Object>> getMarketNews() {
-        requireApiKey();
-        String url = String.format("%s/news?category=general&token=%s", BASE_URL, apiKey);
-        List<Map<String, Object>> response = restTemplate.getForObject(url, List.class);
-        validateListResponse(response);
-        return response;
+    private SingleFlightCache<String, FinnhubQuote> quoteCache;
+    private Cache profileCache;
+    private Cache metricsCache;
+
+    @PostConstruct
+    public void initCaches() {
+        quoteCache = new SingleFlightCache<>(Duration.ofSeconds(quoteCacheTtlSeconds), quoteCacheMaxEntries);
+        profileCache = cacheManager.getCache(CacheConfig.COMPANY_PROFILES);
+        metricsCache = cacheManager.getCache(CacheConfig.BASIC_FINANCIALS);
+    }
+
+    public List<NewsItem> getMarketNews() {
+        // No last-known-good here: the market news snapshot already keeps the previous list
+        return call("news", null, RequestPriority.NEWS, client::marketNews);
     }
 
-    public List<Map<String, Object>> getCompanyNews(String symbol) {
-        requireApiKey();
+    // Only successful responses are cached; failures throw and are retried on the next call
+    @Cacheable(value = CacheConfig.COMPANY_NEWS, key = "#symbol.trim().toUpperCase()", sync = true)
+    public List<NewsItem> getCompanyNews(String symbol) {
         LocalDate to = LocalDate.now();
         LocalDate from = to.minusDays(7);
-        String url = String.format("%s/company-news?symbol=%s&from=%s&to=%s&token=%s",
-                BASE_URL,
-                symbol,
-                from.format(DATE_FORMAT),
-                to.format(DATE_FORMAT),
-                apiKey);
-        List<Map<String, Object>> response = restTemplate.getForObject(url, List.class);
-        validateListResponse(response);
-        return response;
+        return call("company-news", null, RequestPriority.NEWS, () -> client.companyNews(symbol, from, to));
     }
 
-    public Map<String, Object> getCompanyProfile(String symbol) {
-        requireApiKey();
-        String url = String.format("%s/stock/profile2?symbol=%s&token=%s", BASE_URL, symbol, apiKey);
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-        validateMapResponse(response);
-        return response;
+    /** Company profile, cached for days: it only changes with corporate events. */
+    public CompanyProfile getCompanyProfile(String symbol) {
+        String key = symbol.trim().toUpperCase(Locale.ROOT);
+        CompanyProfile profile = cached(profileCache, key, () -> fetchCompanyProfile(key));
+        if (profile.stale()) {
+            // A fallback answers this request but must not be served for the whole TTL
+            profileCache.evict(key);
+        }
+        return profile;
     }
 
-    public Map<String, Object> getBasicFinancials(String symbol) {
-        requireApiKey();
-        String url = String.format("%s/stock/metric?symbol=%s&metric=all&token=%s", BASE_URL, symbol, apiKey);
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-        validateMapResponse(response);
-        return response;
+    /**
+     * The stock/metric document, cached for hours. /fundamentals and /financials
+     * both read this one cached copy.
+     */
+    public BasicFinancials getBasicFinancials(String symbol) {
+        String key = symbol.trim().toUpperCase(Locale.ROOT);
+        BasicFinancials financials = cached(metricsCache, key, () -> fetchBasicFinancials(key));
+        if (financials.stale()) {
+            metricsCache.evict(key);
+        }
+        return financials;
     }
 
-    public Map<String, Object> getQuote(String symbol) {
-        requireApiKey();
-        String url = String.format("%s/quote?symbol=%s&token=%s", BASE_URL, symbol, apiKey);
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-        validateMapResponse(response);
-        return response;
+    private CompanyProfile fetchCompanyProfile(String symbol) {
+        return call("profile", symbol, RequestPriority.CHART, () -> client.profile(symbol));
     }
 
-    private void requireApiKey() {
-        if (apiKey == null || apiKey.isBlank()) {
-            throw new RuntimeException("Finnhub API key not configured");
-        }
+    private BasicFinancials fetchBasicFinancials(String symbol) {
+        return call("metric", symbol, RequestPriority.CHART, () -> client.metrics(symbol));
     }
 
-    private void validateMapResponse(Map<String, Object> response) {
-        if (response == null) {
-            throw new RuntimeException("No response from Finnhub");
-        }
-        Object error = response.get("error");
-        if (error != null) {
-            throw new RuntimeException(error.toString());
-        }
+    public FinnhubQuote getQuote(String symbol) {
+        return getQuote(symbol, RequestPriority.INTERACTIVE);
+    }
+
+    /** Only joins an in-flight load of the same priority, so a lower-priority load never holds this caller up. */
+    public FinnhubQuote getQuote(String symbol, RequestPriority priority) {
+        return quoteCache.get(symbol.trim().toUpperCase(Locale.ROOT), priority, key -> fetchQuote(key, priority));
+    }
+
+    private FinnhubQuote fetchQuote(String symbol, RequestPriority priority) {
+        return call("quote", symbol, priority, () -> client.quote(symbol));
+    }
+
+    // Error responses are thrown by the client inside the breaker, so they are never kept as last known good
+    private <T> T call(String endpoint, String key, RequestPriority priority, Supplier<T> request) {
+        return breakers.call(ProviderBudgetManager.FINNHUB, endpoint, key, () -> {
+            budgetManager.acquire(ProviderBudgetManager.FINNHUB, priority);
+            return request.get();
+        });
     }
 
-    private void validateListResponse(List<Map<String, Object>> response) {
-        if (response == null) {
-            throw new RuntimeException("No response from Finnhub");
+    // Concurrent misses for one key share a single load; a failed load is not cached
+    private static <T> T cached(Cache cache, String key, Callable<T> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (Cache.ValueRetrievalException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : e;
         }
     }
 }
@@ -0,0 +1,68 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BasicFinancials;
+import com.example.backend.dto.CompanyProfile;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The fundamentals summary shown on the stock details page, assembled from the
+ * Finnhub company profile and metric document. Both are cached by
+ * {@link FinnhubService}; on a miss the two requests run concurrently.
+ */
+@Service
+public class FundamentalsService {
+    private final FinnhubService finnhubService;
+    private final ThreadPoolTaskExecutor executor;
+
+    public FundamentalsService(FinnhubService finnhubService,
+                               @Qualifier("marketDataExecutor") ThreadPoolTaskExecutor executor) {
+        this.finnhubService = finnhubService;
+        this.executor = executor;
+    }
+
+    public Map<String, Object> getFundamentals(String symbol) {
+        CompletableFuture<CompanyProfile> pendingProfile;
+        try {
+            pendingProfile = CompletableFuture.supplyAsync(() -> finnhubService.getCompanyProfile(symbol), executor);
+        } catch (RejectedExecutionException e) {
+            pendingProfile = CompletableFuture.completedFuture(finnhubService.getCompanyProfile(symbol));
+        }
+        // The metric request runs on the caller's thread while the profile loads
+        BasicFinancials financials = finnhubService.getBasicFinancials(symbol);
+        CompanyProfile profile = join(pendingProfile);
+
+        Double marketCap = financials.get("marketCapitalization");
+        Map<String, Object> response = new HashMap<>();
+        response.put("CompanyName", profile.name());
+        response.put("Industry", profile.industry());
+        response.put("Weburl", profile.weburl());
+        response.put("Country", profile.country());
+        response.put("MarketCapitalization", marketCap != null ? marketCap : profile.marketCapitalization());
+        response.put("PERatio", financials.get("peBasicExclExtraTTM"));
+        response.put("DividendYield", financials.get("dividendYieldIndicatedAnnual"));
+        response.put("Beta", financials.get("beta"));
+        response.put("BookValue", financials.get("bookValuePerShareAnnual"));
+        response.put("EPS", financials.get("epsTTM"));
+        if (profile.stale() || financials.stale()) {
+            response.put("stale", true);
+        }
+        return response;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+        }
+    }
+}
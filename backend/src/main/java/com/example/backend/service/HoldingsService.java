@@ -11,7 +11,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,7 +52,10 @@ public class HoldingsService {
     }
 
     public Holdings getHoldingsBySymbol(String symbol) {
-        User user = getCurrentUser();
+        return getHoldingsBySymbol(getCurrentUser(), symbol);
+    }
+
+    public Holdings getHoldingsBySymbol(User user, String symbol) {
         log.info("Fetching holdings for symbol: {} and user: {}", symbol, user.getEmail());
         return holdingsRepository.findByUserAndStockSymbol(user, symbol)
                 .orElse(Holdings.builder()
@@ -58,37 +65,66 @@ public class HoldingsService {
                         .build());
     }
 
+    /**
+     * The user's positions in {@code symbols}, loaded with one query. A symbol the
+     * user does not hold maps to a new empty position, which is only persisted if
+     * trades leave shares in it.
+     */
+    public Map<String, Holdings> getPositions(User user, Collection<String> symbols) {
+        Map<String, Holdings> positions = new LinkedHashMap<>();
+        for (Holdings holdings : holdingsRepository.findByUserAndStockSymbolIn(user, symbols)) {
+            positions.put(holdings.getStockSymbol(), holdings);
+        }
+        for (String symbol : symbols) {
+            positions.computeIfAbsent(symbol, s -> Holdings.builder()
+                    .user(user)
+                    .stockSymbol(s)
+                    .quantity(0.0)
+                    .averagePrice(0.0)
+                    .build());
+        }
+        return positions;
+    }
+
+    /**
+     * Writes positions changed in memory by {@link #applyTrade}: emptied positions
+     * are deleted and the rest saved together, so the statements are batched at flush.
+     */
     @Transactional
-    public Holdings updateHoldings(String symbol, double quantity, double price, boolean isBuy) {
-        User user = getCurrentUser();
-        Holdings holdings = holdingsRepository.findByUserAndStockSymbol(user, symbol)
-                .orElse(Holdings.builder()
-                        .user(user)
-                        .stockSymbol(symbol)
-                        .quantity(0.0)
-                        .averagePrice(0.0)
-                        .build());
+    public void savePositions(Collection<Holdings> positions) {
+        List<Holdings> open = new ArrayList<>(positions.size());
+        for (Holdings holdings : positions) {
+            if (holdings.getQuantity() > 0) {
+                open.add(holdings);
+            } else if (holdings.getId() != null) {
+                holdingsRepository.delete(holdings);
+            }
+        }
+        holdingsRepository.saveAll(open);
+    }
 
+    /**
+     * Applies a buy or sell to a position in memory; the caller saves it. Positions
+     * only change this way through {@link LedgerService#record}, which keeps them a
+     * projection of the ledger.
+     */
+    static void applyTrade(Holdings holdings, double quantity, double price, boolean isBuy) {
         if (isBuy) {
-            double newTotalValue = (holdings.getQuantity() * holdings.getAveragePrice()) + (quantity * price);
-            double newTotalQuantity = holdings.getQuantity() + quantity;
-            holdings.setQuantity(newTotalQuantity);
-            holdings.setAveragePrice(newTotalValue / newTotalQuantity);
+            holdings.setAveragePrice(averagePriceAfterBuy(holdings.getQuantity(), holdings.getAveragePrice(), quantity, price));
+            holdings.setQuantity(holdings.getQuantity() + quantity);
         } else {
             holdings.setQuantity(holdings.getQuantity() - quantity);
+            if (holdings.getQuantity() <= 0) {
+                // An emptied position starts over, so a reused object and a fresh one buy alike
+                holdings.setQuantity(0.0);
+                holdings.setAveragePrice(0.0);
+            }
         }
+    }
 
-        if (holdings.getQuantity() <= 0) {
-            holdingsRepository.delete(holdings);
-            return Holdings.builder()
-                    .stockSymbol(symbol)
-                    .quantity(0.0)
-                    .averagePrice(0.0)
-                    .build();
-        }
-
-        log.info("Updating holdings for symbol: {}, new quantity: {}, new average price: {}", 
-                symbol, holdings.getQuantity(), holdings.getAveragePrice());
-        return holdingsRepository.save(holdings);
+    /** Volume-weighted average price of a position after buying {@code quantity} more at {@code price}. */
+    static double averagePriceAfterBuy(double heldQuantity, double averagePrice, double quantity, double price) {
+        double newTotalValue = (heldQuantity * averagePrice) + (quantity * price);
+        return newTotalValue / (heldQuantity + quantity);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BasicFinancials;
+import com.example.backend.dto.CompanyProfile;
+import com.example.backend.dto.FinnhubQuote;
+import com.example.backend.dto.NewsItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Component
+@Profile("!synthetic")
+public class HttpFinnhubClient implements FinnhubClient {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final RestTemplate restTemplate;
+
+    @Value("${finnhub.api.key}")
+    private String apiKey;
+
+    @Value("${app.providers.finnhub.base-url:https://finnhub.io/api/v1}")
+    private String baseUrl;
+
+    public HttpFinnhubClient(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public List<NewsItem> marketNews() {
+        return get(String.format("%s/news?category=general&token=%s", baseUrl, apiKey), ProviderResponseParser::news);
+    }
+
+    @Override
+    public List<NewsItem> companyNews(String symbol, LocalDate from, LocalDate to) {
+        String url = String.format("%s/company-news?symbol=%s&from=%s&to=%s&token=%s",
+                baseUrl,
+                symbol,
+                from.format(DATE_FORMAT),
+                to.format(DATE_FORMAT),
+                apiKey);
+        return get(url, ProviderResponseParser::news);
+    }
+
+    @Override
+    public CompanyProfile profile(String symbol) {
+        String url = String.format("%s/stock/profile2?symbol=%s&token=%s", baseUrl, symbol, apiKey);
+        return get(url, ProviderResponseParser::companyProfile);
+    }
+
+    @Override
+    public BasicFinancials metrics(String symbol) {
+        String url = String.format("%s/stock/metric?symbol=%s&metric=all&token=%s", baseUrl, symbol, apiKey);
+        return get(url, ProviderResponseParser::basicFinancials);
+    }
+
+    @Override
+    public FinnhubQuote quote(String symbol) {
+        String url = String.format("%s/quote?symbol=%s&token=%s", baseUrl, symbol, apiKey);
+        return get(url, ProviderResponseParser::finnhubQuote);
+    }
+
+    // Parsed straight from the response stream; error bodies are rejected by the parser
+    private <T> T get(String url, ResponseParser<T> parser) {
+        requireApiKey();
+        return restTemplate.execute(url, HttpMethod.GET, null, response -> parser.parse(response.getBody()));
+    }
+
+    private void requireApiKey() {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new RuntimeException("Finnhub API key not configured");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.Quote;
+import com.example.backend.dto.TimeSeries;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Profile("!synthetic")
+public class HttpTwelveDataClient implements TwelveDataClient {
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final RestTemplate restTemplate;
+
+    @Value("${twelvedata.api.key}")
+    private String apiKey;
+
+    @Value("${app.providers.twelvedata.base-url:https://api.twelvedata.com}")
+    private String baseUrl;
+
+    public HttpTwelveDataClient(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> symbolSearch(String query) {
+        requireApiKey();
+        String url = String.format("%s/symbol_search?symbol=%s&apikey=%s", baseUrl, query, apiKey);
+        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+        validateTwelveDataResponse(response);
+        return response;
+    }
+
+    @Override
+    public List<SymbolIndex.ListedSymbol> stocks(String country) {
+        String url = String.format("%s/stocks?country=%s&type=Common Stock&apikey=%s", baseUrl, country, apiKey);
+        return get(url, ProviderResponseParser::stockListing);
+    }
+
+    @Override
+    public TimeSeries timeSeries(String symbol, String interval, LocalDateTime startDate, int outputSize) {
+        String url;
+        if (startDate != null) {
+            url = String.format("%s/time_series?symbol=%s&interval=%s&start_date=%s&outputsize=5000&apikey=%s",
+                baseUrl, symbol, interval, startDate.format(DATE_TIME_FORMAT), apiKey);
+        } else {
+            url = String.format("%s/time_series?symbol=%s&interval=%s&outputsize=%d&apikey=%s",
+                baseUrl, symbol, interval, outputSize, apiKey);
+        }
+        return get(url, ProviderResponseParser::timeSeries);
+    }
+
+    @Override
+    public Quote quote(String symbol) {
+        String url = String.format("%s/quote?symbol=%s&apikey=%s", baseUrl, symbol, apiKey);
+        return get(url, body -> ProviderResponseParser.twelveDataQuote(body, symbol));
+    }
+
+    @Override
+    public Map<String, Object> quotes(List<String> symbols) {
+        String url = String.format("%s/quote?symbol=%s&apikey=%s", baseUrl, String.join(",", symbols), apiKey);
+        return get(url, ProviderResponseParser::twelveDataQuotes);
+    }
+
+    // Parsed straight from the response stream; error bodies are rejected by the parser
+    private <T> T get(String url, ResponseParser<T> parser) {
+        requireApiKey();
+        return restTemplate.execute(url, HttpMethod.GET, null, response -> parser.parse(response.getBody()));
+    }
+
+    private void requireApiKey() {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new RuntimeException("TwelveData API key not configured");
+        }
+    }
+
+    private static void validateTwelveDataResponse(Map<String, Object> response) {
+        if (response == null) {
+            throw new RuntimeException("No response from TwelveData");
+        }
+        Object status = response.get("status");
+        Object code = response.get("code");
+        Object message = response.get("message");
+        if ("error".equals(status) || code != null || message != null) {
+            if (code instanceof Number number && (number.intValue() == 429 || number.intValue() >= 500)) {
+                throw new ProviderUnavailableException(message != null ? message.toString() : "TwelveData unavailable");
+            }
+            throw new RuntimeException(message != null ? message.toString() : "TwelveData API error");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.IdempotentResponse;
+import com.example.backend.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key}. Keys are scoped to the
+ * calling user. A repeat of a completed request gets the stored response back
+ * (marked with {@code Idempotent-Replayed: true}) without executing again, and a
+ * repeat that arrives while the first is still running waits for it and gets the
+ * same response. Only successful responses are stored: a request that failed
+ * changed nothing, so retrying it with the same key executes it again.
+ *
+ * <p>A keyed request runs under the account lock in one transaction with the
+ * saving of its response, so with the database store the order and its record
+ * commit or roll back together: a crash between the two cannot leave an executed
+ * order whose retry would execute again.
+ *
+ * <p>In-flight requests are tracked per instance; the store decides whether
+ * completed ones are recognized across instances and restarts. A key reused for a
+ * different request body is rejected with 422.
+ */
+@Service
+public class IdempotencyService {
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final AccountLocks accountLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper,
+                              AccountLocks accountLocks, TransactionTemplate transactionTemplate) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.accountLocks = accountLocks;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Runs {@code action} unless this user already sent {@code key}. Without a key
+     * the action simply runs. {@code operation} and {@code request} identify the
+     * request, e.g. "buy" and the parsed body.
+     */
+    public ResponseEntity<?> execute(String key, String operation, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        key = key.trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body("Invalid " + KEY_HEADER);
+        }
+        Long userId = currentUserId();
+        String scopedKey = userId + ":" + key;
+        String fingerprint = fingerprint(operation, request);
+
+        Optional<IdempotentResponse> stored = store.find(scopedKey);
+        if (stored.isPresent()) {
+            return replay(stored.get(), fingerprint);
+        }
+
+        CompletableFuture<IdempotentResponse> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> existing = inFlight.putIfAbsent(scopedKey, mine);
+        if (existing != null) {
+            return replay(await(existing), fingerprint);
+        }
+
+        try {
+            // The first request may have finished between our lookup and our registration
+            stored = store.find(scopedKey);
+            if (stored.isPresent()) {
+                mine.complete(stored.get());
+                return replay(stored.get(), fingerprint);
+            }
+            // The action's own lock and transaction join these, so its writes commit with the record
+            IdempotentResponse[] result = new IdempotentResponse[1];
+            ResponseEntity<?> response = accountLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+                ResponseEntity<?> executed = action.get();
+                result[0] = new IdempotentResponse(
+                        fingerprint, executed.getStatusCode().value(), toJson(executed.getBody()));
+                if (executed.getStatusCode().is2xxSuccessful()) {
+                    store.save(scopedKey, result[0]);
+                } else {
+                    // Failed actions report an error response; make sure nothing they wrote commits
+                    status.setRollbackOnly();
+                }
+                return executed;
+            }));
+            mine.complete(result[0]);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopedKey, mine);
+        }
+    }
+
+    private ResponseEntity<?> replay(IdempotentResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(KEY_HEADER + " was already used for a different request");
+        }
+        return ResponseEntity.status(response.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(response.body());
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(operation.getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) 0);
+            return Base64.getEncoder().encodeToString(sha256.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response for replay", e);
+        }
+    }
+
+    private static IdempotentResponse await(CompletableFuture<IdempotentResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static Long currentUserId() {
+        return ((User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.IdempotentResponse;
+
+import java.util.Optional;
+
+/**
+ * Completed responses by idempotency key. Implementations are bounded and expire
+ * entries, so a key only protects retries within its TTL. {@code app.idempotency.store}
+ * picks the implementation: {@code memory} (default) or {@code database}.
+ */
+public interface IdempotencyStore {
+    Optional<IdempotentResponse> find(String key);
+
+    void save(String key, IdempotentResponse response);
+}
@@ -0,0 +1,47 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheConfig;
+import com.example.backend.dto.IdempotentResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Keeps responses in the {@link CacheConfig#IDEMPOTENT_RESPONSES} cache, whose spec
+ * sets the size bound and TTL. Local to this instance and lost on restart; use the
+ * database store when requests for one account can reach several instances.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache responses;
+
+    public InMemoryIdempotencyStore(CacheManager cacheManager) {
+        this.responses = cacheManager.getCache(CacheConfig.IDEMPOTENT_RESPONSES);
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        return Optional.ofNullable(responses.get(key, IdempotentResponse.class));
+    }
+
+    /** Inside a transaction, the response is only kept once that transaction commits. */
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            responses.put(key, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                responses.put(key, response);
+            }
+        });
+    }
+}
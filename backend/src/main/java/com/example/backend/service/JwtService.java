@@ -1,26 +1,81 @@
 package com.example.backend.service;
 
+import com.example.backend.config.CacheConfig;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 import com.example.backend.model.User;
 
 @Service
 public class JwtService {
     private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String USER_ID = "uid";
+    private static final String TOKEN_VERSION = "ver";
+
+    // Key and parser are immutable and thread-safe, so they are built once
+    private final Key signInKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+    private final Cache verifiedTokens;
+
+    public JwtService(CacheManager cacheManager) {
+        this.verifiedTokens = cacheManager.getCache(CacheConfig.VERIFIED_TOKENS);
+    }
+
+    /**
+     * Claims of a token whose signature and expiry have been checked. {@code userId}
+     * is null for tokens issued before user ids and token versions were embedded.
+     */
+    public record TokenClaims(String username, Long userId, int tokenVersion, Instant issuedAt, Instant expiresAt) {
+        public boolean isExpired() {
+            return expiresAt != null && !expiresAt.isAfter(Instant.now());
+        }
+    }
+
+    /**
+     * Verifies the token's signature and expiry once and returns its claims.
+     * Recently verified tokens are remembered by SHA-256 digest (the token itself
+     * is not kept), so a hot token skips the signature check and JSON parsing.
+     * Throws {@link io.jsonwebtoken.JwtException} if the token is malformed,
+     * forged or expired.
+     */
+    public TokenClaims verify(String token) {
+        String digest = digest(token);
+        TokenClaims cached = verifiedTokens.get(digest, TokenClaims.class);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verifiedTokens.evict(digest);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        TokenClaims verified = new TokenClaims(claims.getSubject(),
+                claims.get(USER_ID) instanceof Number id ? id.longValue() : null,
+                claims.get(TOKEN_VERSION) instanceof Number version ? version.intValue() : 0,
+                instant(claims.getIssuedAt()), instant(claims.getExpiration()));
+        verifiedTokens.put(digest, verified);
+        return verified;
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -28,13 +83,28 @@ public class JwtService {
         if (userDetails instanceof User) {
             User user = (User) userDetails;
             claims.put("role", user.getRole());
+            claims.put(USER_ID, user.getId());
+            claims.put(TOKEN_VERSION, user.getTokenVersion());
         }
         return generateToken(claims, userDetails);
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
+    }
+
+    /**
+     * True if the token belongs to {@code userDetails} and has not expired. For a
+     * {@link User} the token must also carry the user's id and current token
+     * version, so tokens issued before a revocation are rejected.
+     */
+    public boolean isTokenValid(TokenClaims claims, UserDetails userDetails) {
+        if (userDetails instanceof User user
+                && (claims.userId() == null || !claims.userId().equals(user.getId())
+                    || user.getTokenVersion() != claims.tokenVersion())) {
+            return false;
+        }
+        return claims.username().equals(userDetails.getUsername()) && !claims.isExpired();
     }
 
     private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -43,33 +113,21 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static Instant instant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = java.util.Base64.getDecoder().decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /** Cache key for a token: Base64 of its SHA-256 hash. */
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-} 
\ No newline at end of file
+}
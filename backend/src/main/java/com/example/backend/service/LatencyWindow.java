@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import java.util.Arrays;
+
+/** Ring of the most recent latencies, in milliseconds. */
+final class LatencyWindow {
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    LatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    synchronized void record(long millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /** Returns 0 until enough samples exist for the percentile to mean something. */
+    synchronized long percentile(int p) {
+        if (count < 20) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(p / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Holdings;
+import com.example.backend.model.LedgerEvent;
+import com.example.backend.model.LedgerSnapshot;
+import com.example.backend.model.User;
+import com.example.backend.repository.HoldingsRepository;
+import com.example.backend.repository.LedgerEventRepository;
+import com.example.backend.repository.LedgerSnapshotRepository;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The trade and cash ledger. Every change to a balance or position is recorded
+ * here as events, and {@code User.balance} and the {@link Holdings} rows are
+ * projections of those events: {@link #record} appends the events and applies
+ * them to the projections in the caller's transaction, through the same
+ * {@link #apply} a replay uses, so a replay reproduces the projections exactly.
+ *
+ * <p>Every {@code app.ledger.snapshot-every} events a user's state is replayed
+ * and saved as a {@link LedgerSnapshot}, so replaying an account only applies the
+ * events after its latest snapshot. Accounts that predate the ledger get genesis
+ * events for their balance and positions before their first recorded change.
+ * Callers hold the account lock, like every other balance change.
+ */
+@Service
+public class LedgerService {
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+    private static final TypeReference<Map<String, double[]>> POSITIONS = new TypeReference<>() {
+    };
+
+    private final LedgerEventRepository eventRepository;
+    private final LedgerSnapshotRepository snapshotRepository;
+    private final UserRepository userRepository;
+    private final HoldingsRepository holdingsRepository;
+    private final HoldingsService holdingsService;
+    private final ObjectMapper objectMapper;
+    private final int snapshotEvery;
+
+    public LedgerService(LedgerEventRepository eventRepository, LedgerSnapshotRepository snapshotRepository,
+                         UserRepository userRepository, HoldingsRepository holdingsRepository,
+                         HoldingsService holdingsService, ObjectMapper objectMapper,
+                         @Value("${app.ledger.snapshot-every:100}") int snapshotEvery) {
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.userRepository = userRepository;
+        this.holdingsRepository = holdingsRepository;
+        this.holdingsService = holdingsService;
+        this.objectMapper = objectMapper;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Appends {@code events} to {@code user}'s ledger and applies them, in order, to
+     * the user's balance and to {@code positions}, which must hold a position (open
+     * or empty) for every symbol the events trade. Saves the user and positions.
+     */
+    public void record(User user, Map<String, Holdings> positions, List<LedgerEvent> events) {
+        long sequence = lastSequence(user);
+        List<LedgerEvent> appended = new ArrayList<>(events.size());
+        for (LedgerEvent event : events) {
+            event.setUserId(user.getId());
+            event.setSequence(++sequence);
+            user.setBalance(apply(event, user.getBalance(), positions));
+            appended.add(event);
+        }
+        userRepository.save(user);
+        holdingsService.savePositions(positions.values());
+        eventRepository.saveAll(appended);
+
+        long before = sequence - events.size();
+        if (before / snapshotEvery != sequence / snapshotEvery) {
+            snapshot(user.getId());
+        }
+    }
+
+    /** Writes genesis events for an account that has none yet; a no-op otherwise. */
+    public void ensureGenesis(User user) {
+        lastSequence(user);
+    }
+
+    /** The user's balance and open positions as the ledger has them, from the latest snapshot on. */
+    public LedgerState replay(Long userId) {
+        LedgerSnapshot snapshot = snapshotRepository.findFirstByUserIdOrderBySequenceDesc(userId).orElse(null);
+        long after = snapshot != null ? snapshot.getSequence() : 0;
+        return replay(restore(snapshot), eventRepository.findByUserIdAndSequenceGreaterThanOrderBySequence(userId, after));
+    }
+
+    /**
+     * Applies one event: a GENESIS position sets the position outright, a trade goes
+     * through {@link HoldingsService#applyTrade}, and the cash delta is added to
+     * {@code balance}. Returns the new balance.
+     */
+    static double apply(LedgerEvent event, double balance, Map<String, Holdings> positions) {
+        if (event.getStockSymbol() != null) {
+            Holdings position = positions.get(event.getStockSymbol());
+            if (LedgerEvent.GENESIS.equals(event.getType())) {
+                position.setQuantity(event.getQuantity());
+                position.setAveragePrice(event.getPrice());
+            } else {
+                HoldingsService.applyTrade(position, event.getQuantity(), event.getPrice(),
+                        LedgerEvent.BUY.equals(event.getType()));
+            }
+        }
+        return balance + event.getCashDelta();
+    }
+
+    static LedgerState replay(LedgerState state, List<LedgerEvent> events) {
+        for (LedgerEvent event : events) {
+            if (event.getStockSymbol() != null) {
+                state.positions.computeIfAbsent(event.getStockSymbol(), symbol -> Holdings.builder()
+                        .stockSymbol(symbol)
+                        .quantity(0.0)
+                        .averagePrice(0.0)
+                        .build());
+            }
+            state.balance = apply(event, state.balance, state.positions);
+            state.sequence = event.getSequence();
+        }
+        state.positions.values().removeIf(position -> position.getQuantity() <= 0);
+        return state;
+    }
+
+    private long lastSequence(User user) {
+        Long last = eventRepository.findLastSequence(user.getId());
+        return last != null ? last : genesis(user);
+    }
+
+    // Opens the ledger of an account from its current, pre-ledger balance and positions
+    private long genesis(User user) {
+        List<LedgerEvent> events = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        if (user.getBalance() != 0) {
+            events.add(LedgerEvent.builder().type(LedgerEvent.GENESIS).cashDelta(user.getBalance()).createdAt(now).build());
+        }
+        for (Holdings holdings : holdingsRepository.findByUser(user)) {
+            if (holdings.getQuantity() > 0) {
+                events.add(LedgerEvent.builder()
+                        .type(LedgerEvent.GENESIS)
+                        .stockSymbol(holdings.getStockSymbol())
+                        .quantity(holdings.getQuantity())
+                        .price(holdings.getAveragePrice())
+                        .createdAt(now)
+                        .build());
+            }
+        }
+        long sequence = 0;
+        for (LedgerEvent event : events) {
+            event.setUserId(user.getId());
+            event.setSequence(++sequence);
+        }
+        eventRepository.saveAll(events);
+        if (!events.isEmpty()) {
+            log.info("Opened ledger for user {} with {} genesis events", user.getId(), events.size());
+        }
+        return sequence;
+    }
+
+    private void snapshot(Long userId) {
+        LedgerState state = replay(userId);
+        snapshotRepository.save(LedgerSnapshot.builder()
+                .userId(userId)
+                .sequence(state.sequence)
+                .balance(state.balance)
+                .positions(toJson(state.positions.values()))
+                .createdAt(LocalDateTime.now())
+                .build());
+        snapshotRepository.deleteOlderThan(userId, state.sequence);
+    }
+
+    private LedgerState restore(LedgerSnapshot snapshot) {
+        LedgerState state = new LedgerState();
+        if (snapshot == null) {
+            return state;
+        }
+        state.sequence = snapshot.getSequence();
+        state.balance = snapshot.getBalance();
+        try {
+            objectMapper.readValue(snapshot.getPositions(), POSITIONS).forEach((symbol, position) ->
+                    state.positions.put(symbol, Holdings.builder()
+                            .stockSymbol(symbol)
+                            .quantity(position[0])
+                            .averagePrice(position[1])
+                            .build()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable ledger snapshot " + snapshot.getId(), e);
+        }
+        return state;
+    }
+
+    private String toJson(Collection<Holdings> positions) {
+        Map<String, double[]> bySymbol = new TreeMap<>();
+        for (Holdings position : positions) {
+            bySymbol.put(position.getStockSymbol(), new double[] {position.getQuantity(), position.getAveragePrice()});
+        }
+        try {
+            return objectMapper.writeValueAsString(bySymbol);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize ledger snapshot", e);
+        }
+    }
+
+    /** A replayed account: the last event applied, the balance and the open positions by symbol. */
+    public static final class LedgerState {
+        long sequence;
+        double balance;
+        final Map<String, Holdings> positions = new TreeMap<>();
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public double getBalance() {
+            return balance;
+        }
+
+        public Map<String, Holdings> getPositions() {
+            return positions;
+        }
+    }
+}
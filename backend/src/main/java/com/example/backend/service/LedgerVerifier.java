@@ -0,0 +1,168 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Holdings;
+import com.example.backend.model.User;
+import com.example.backend.repository.HoldingsRepository;
+import com.example.backend.repository.LedgerEventRepository;
+import com.example.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps the projections honest. At startup it opens the ledger of every account
+ * that has none (and, with {@code app.ledger.rebuild-on-startup}, rebuilds every
+ * account's projections from the ledger); on a schedule it replays every account
+ * and reports where the stored balance or holdings differ from the replay.
+ * Projections and replays apply the same arithmetic in the same order, so they
+ * must match exactly.
+ */
+@Component
+public class LedgerVerifier {
+    private static final Logger log = LoggerFactory.getLogger(LedgerVerifier.class);
+
+    private final LedgerService ledgerService;
+    private final LedgerEventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final HoldingsRepository holdingsRepository;
+    private final AccountLocks accountLocks;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.ledger.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    public LedgerVerifier(LedgerService ledgerService, LedgerEventRepository eventRepository,
+                          UserRepository userRepository, HoldingsRepository holdingsRepository,
+                          AccountLocks accountLocks, TransactionTemplate transactionTemplate) {
+        this.ledgerService = ledgerService;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.holdingsRepository = holdingsRepository;
+        this.accountLocks = accountLocks;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void openLedgers() {
+        List<Long> userIds = eventRepository.findUserIdsWithoutEvents();
+        for (Long userId : userIds) {
+            accountLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+                userRepository.findById(userId).ifPresent(ledgerService::ensureGenesis);
+                return null;
+            }));
+        }
+        if (rebuildOnStartup) {
+            long started = System.nanoTime();
+            List<Long> all = allUserIds();
+            all.forEach(this::rebuild);
+            log.info("Rebuilt projections of {} accounts from the ledger in {} ms",
+                    all.size(), (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /** Replays every account and logs each one whose projections differ from its ledger. */
+    @Scheduled(initialDelayString = "${app.ledger.verify-interval-ms:3600000}",
+            fixedDelayString = "${app.ledger.verify-interval-ms:3600000}")
+    public int verifyAll() {
+        long started = System.nanoTime();
+        List<Long> userIds = allUserIds();
+        int mismatched = 0;
+        for (Long userId : userIds) {
+            List<String> differences = verify(userId);
+            if (!differences.isEmpty()) {
+                mismatched++;
+                log.warn("Ledger mismatch for user {}: {}", userId, differences);
+            }
+        }
+        log.info("Verified {} accounts against the ledger in {} ms: {} mismatched",
+                userIds.size(), (System.nanoTime() - started) / 1_000_000, mismatched);
+        return mismatched;
+    }
+
+    /** Differences between the account's stored balance and holdings and its replayed ledger; empty if none. */
+    public List<String> verify(Long userId) {
+        return accountLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+            LedgerService.LedgerState state = ledgerService.replay(userId);
+            List<String> differences = new ArrayList<>();
+            if (user.getBalance() != state.getBalance()) {
+                differences.add("balance " + user.getBalance() + " != ledger " + state.getBalance());
+            }
+            Map<String, Holdings> stored = openPositions(user);
+            for (String symbol : union(stored, state.getPositions())) {
+                Holdings projected = stored.get(symbol);
+                Holdings replayed = state.getPositions().get(symbol);
+                if (projected == null || replayed == null
+                        || projected.getQuantity() != replayed.getQuantity()
+                        || projected.getAveragePrice() != replayed.getAveragePrice()) {
+                    differences.add(symbol + " " + describe(projected) + " != ledger " + describe(replayed));
+                }
+            }
+            return differences;
+        }));
+    }
+
+    /** Overwrites the account's balance and holdings with its replayed ledger. */
+    public void rebuild(Long userId) {
+        accountLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+            LedgerService.LedgerState state = ledgerService.replay(userId);
+            user.setBalance(state.getBalance());
+            userRepository.save(user);
+
+            Map<String, Holdings> stored = new TreeMap<>();
+            for (Holdings holdings : holdingsRepository.findByUser(user)) {
+                stored.put(holdings.getStockSymbol(), holdings);
+            }
+            List<Holdings> upserts = new ArrayList<>();
+            for (Holdings replayed : state.getPositions().values()) {
+                Holdings holdings = stored.remove(replayed.getStockSymbol());
+                if (holdings == null) {
+                    holdings = Holdings.builder().user(user).stockSymbol(replayed.getStockSymbol()).build();
+                }
+                holdings.setQuantity(replayed.getQuantity());
+                holdings.setAveragePrice(replayed.getAveragePrice());
+                upserts.add(holdings);
+            }
+            holdingsRepository.deleteAll(stored.values());
+            holdingsRepository.saveAll(upserts);
+            return null;
+        }));
+    }
+
+    private List<Long> allUserIds() {
+        return userRepository.findAll().stream().map(User::getId).toList();
+    }
+
+    private Map<String, Holdings> openPositions(User user) {
+        Map<String, Holdings> open = new TreeMap<>();
+        for (Holdings holdings : holdingsRepository.findByUser(user)) {
+            if (holdings.getQuantity() > 0) {
+                open.put(holdings.getStockSymbol(), holdings);
+            }
+        }
+        return open;
+    }
+
+    private static Set<String> union(Map<String, Holdings> a, Map<String, Holdings> b) {
+        Set<String> symbols = new TreeSet<>(a.keySet());
+        symbols.addAll(b.keySet());
+        return symbols;
+    }
+
+    private static String describe(Holdings holdings) {
+        return holdings == null ? "none" : holdings.getQuantity() + " @ " + holdings.getAveragePrice();
+    }
+}
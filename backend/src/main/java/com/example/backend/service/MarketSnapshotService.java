@@ -0,0 +1,75 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.NewsItem;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the last good top movers and market news snapshots, refreshed on a fixed
+ * cadence in the background. Request threads only ever read the current snapshot,
+ * and a failed refresh leaves the previous one in place.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarketSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(MarketSnapshotService.class);
+
+    private final TopMoversService topMoversService;
+    private final FinnhubService finnhubService;
+
+    private final AtomicReference<Snapshot<Map<String, Object>>> topMovers = new AtomicReference<>();
+    private final AtomicReference<Snapshot<List<NewsItem>>> marketNews = new AtomicReference<>();
+
+    @Value("${finnhub.api.key:}")
+    private String finnhubKey;
+
+    public Optional<Snapshot<Map<String, Object>>> getTopMovers() {
+        return Optional.ofNullable(topMovers.get());
+    }
+
+    public Optional<Snapshot<List<NewsItem>>> getMarketNews() {
+        return Optional.ofNullable(marketNews.get());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.snapshots.top-movers-refresh-ms:60000}")
+    public void refreshTopMovers() {
+        if (finnhubKey == null || finnhubKey.isBlank()) {
+            return;
+        }
+        try {
+            Map<String, Object> movers = topMoversService.computeTopMovers();
+            if (movers.isEmpty()) {
+                log.warn("Top movers refresh returned no quotes, keeping previous snapshot");
+                return;
+            }
+            topMovers.set(new Snapshot<>(movers, Instant.now()));
+        } catch (Exception e) {
+            log.warn("Top movers refresh failed, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.snapshots.market-news-refresh-ms:300000}")
+    public void refreshMarketNews() {
+        if (finnhubKey == null || finnhubKey.isBlank()) {
+            return;
+        }
+        try {
+            marketNews.set(new Snapshot<>(finnhubService.getMarketNews(), Instant.now()));
+        } catch (Exception e) {
+            log.warn("Market news refresh failed, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    public record Snapshot<T>(T value, Instant refreshedAt) {
+    }
+}
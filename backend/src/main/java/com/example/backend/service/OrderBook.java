@@ -0,0 +1,171 @@
+package com.example.backend.service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Resting trigger orders for one symbol, kept as two binary heaps over parallel
+ * {@code double}/{@code long} arrays (threshold and order id), so there is no
+ * object per order. Orders that fire when the price falls to their threshold (buy
+ * limits, sell stops) sit in a max-heap; orders that fire when it rises to their
+ * threshold (sell limits, buy stops) sit in a min-heap. A tick only looks at the
+ * two heap tops, and pops the orders it crosses: O(1) when nothing fires and
+ * O(log n) per order that does, instead of a scan of every open order.
+ *
+ * <p>Cancelled orders are skipped lazily when they reach a top, and the heaps are
+ * compacted once they hold more cancelled than live entries. Not thread-safe;
+ * {@link OrderMatchingEngine} serializes access per book.
+ */
+public class OrderBook {
+    private final PriceHeap fallingTo = new PriceHeap(true);
+    private final PriceHeap risingTo = new PriceHeap(false);
+    private final Set<Long> cancelled = new HashSet<>();
+
+    /**
+     * Rests an order. {@code atOrBelow} orders fire once the price is at or below
+     * {@code threshold}, the others once it is at or above it.
+     */
+    public void add(long orderId, double threshold, boolean atOrBelow) {
+        (atOrBelow ? fallingTo : risingTo).push(threshold, orderId);
+    }
+
+    /** Marks a resting order cancelled; it is dropped when it next reaches a heap top. */
+    public void cancel(long orderId) {
+        cancelled.add(orderId);
+        if (cancelled.size() * 2 > size()) {
+            fallingTo.removeAll(cancelled);
+            risingTo.removeAll(cancelled);
+            cancelled.clear();
+        }
+    }
+
+    /**
+     * Removes every order whose threshold {@code price} has crossed, handing each id
+     * to {@code triggered}. Returns how many fired.
+     */
+    public int trigger(double price, LongConsumer triggered) {
+        int fired = 0;
+        while (!fallingTo.isEmpty() && fallingTo.topPrice() >= price) {
+            fired += fire(fallingTo.pop(), triggered);
+        }
+        while (!risingTo.isEmpty() && risingTo.topPrice() <= price) {
+            fired += fire(risingTo.pop(), triggered);
+        }
+        return fired;
+    }
+
+    /** Resting entries, including cancelled ones not yet dropped. */
+    public int size() {
+        return fallingTo.size() + risingTo.size();
+    }
+
+    private int fire(long orderId, LongConsumer triggered) {
+        if (!cancelled.isEmpty() && cancelled.remove(orderId)) {
+            return 0;
+        }
+        triggered.accept(orderId);
+        return 1;
+    }
+
+    /** Binary heap of (price, id) pairs in parallel arrays; max-heap or min-heap on price. */
+    static final class PriceHeap {
+        private final boolean max;
+        private double[] prices = new double[16];
+        private long[] ids = new long[16];
+        private int size;
+
+        PriceHeap(boolean max) {
+            this.max = max;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        double topPrice() {
+            return prices[0];
+        }
+
+        void push(double price, long id) {
+            if (size == prices.length) {
+                prices = Arrays.copyOf(prices, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            prices[size] = price;
+            ids[size] = id;
+            siftUp(size++);
+        }
+
+        /** Removes the top entry and returns its id. */
+        long pop() {
+            long id = ids[0];
+            size--;
+            if (size > 0) {
+                prices[0] = prices[size];
+                ids[0] = ids[size];
+                siftDown(0);
+            }
+            return id;
+        }
+
+        void removeAll(Set<Long> remove) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!remove.contains(ids[i])) {
+                    prices[kept] = prices[i];
+                    ids[kept] = ids[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        private boolean before(int a, int b) {
+            return max ? prices[a] > prices[b] : prices[a] < prices[b];
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(i, parent)) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int child = left + 1 < size && before(left + 1, left) ? left + 1 : left;
+                if (!before(child, i)) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double price = prices[a];
+            prices[a] = prices[b];
+            prices[b] = price;
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory books of open limit and stop orders, one {@link OrderBook} per symbol.
+ * Holds only order ids and thresholds; the orders themselves live in the database
+ * and {@link OrderService} reloads them into the engine on startup. Ticks for
+ * different symbols run in parallel, ticks and changes to one symbol's book are
+ * serialized on that book.
+ */
+@Component
+public class OrderMatchingEngine {
+    private final ConcurrentHashMap<String, OrderBook> books = new ConcurrentHashMap<>();
+
+    public void add(Order order) {
+        OrderBook book = books.computeIfAbsent(key(order.getStockSymbol()), s -> new OrderBook());
+        synchronized (book) {
+            book.add(order.getId(), order.getTriggerPrice(), order.triggersAtOrBelow());
+        }
+    }
+
+    public void cancel(Order order) {
+        OrderBook book = books.get(key(order.getStockSymbol()));
+        if (book != null) {
+            synchronized (book) {
+                book.cancel(order.getId());
+            }
+        }
+    }
+
+    /** Takes the orders on {@code symbol} that {@code price} triggers off the book and returns their ids. */
+    public List<Long> onQuote(String symbol, double price) {
+        OrderBook book = books.get(key(symbol));
+        if (book == null) {
+            return List.of();
+        }
+        List<Long> triggered = new ArrayList<>();
+        synchronized (book) {
+            book.trigger(price, triggered::add);
+        }
+        return triggered;
+    }
+
+    /** Symbols with resting orders, i.e. the ones that need quotes. */
+    public Set<String> symbols() {
+        return books.entrySet().stream()
+                .filter(entry -> entry.getValue().size() > 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private static String key(String symbol) {
+        return symbol.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.Quote;
+import com.example.backend.model.Order;
+import com.example.backend.model.Transaction;
+import com.example.backend.model.User;
+import com.example.backend.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Limit and stop orders. Placing an order saves it and rests it in the
+ * {@link OrderMatchingEngine}; every trigger tick quotes the symbols that have
+ * resting orders and executes the orders each quote crosses through
+ * {@link TransactionService}, at the quote's price. Stale quotes are skipped, so
+ * orders wait out a provider outage instead of filling at an outdated price. Balance and holdings are
+ * checked when the order fires, not when it is placed: an order that cannot be
+ * filled then is closed as {@code REJECTED} with the reason.
+ *
+ * <p>Filling and cancelling an order both run under the account lock and re-read
+ * its status first, so an order is never both filled and cancelled.
+ */
+@Service
+public class OrderService {
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+    static final String OPEN = "OPEN";
+
+    private final OrderRepository orderRepository;
+    private final OrderMatchingEngine engine;
+    private final TransactionService transactionService;
+    private final QuoteService quoteService;
+    private final AccountLocks accountLocks;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderService(OrderRepository orderRepository, OrderMatchingEngine engine,
+                        TransactionService transactionService, QuoteService quoteService,
+                        AccountLocks accountLocks, TransactionTemplate transactionTemplate) {
+        this.orderRepository = orderRepository;
+        this.engine = engine;
+        this.transactionService = transactionService;
+        this.quoteService = quoteService;
+        this.accountLocks = accountLocks;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /** Puts the open orders back on the books after a restart. */
+    @PostConstruct
+    public void loadOpenOrders() {
+        List<Order> open = orderRepository.findByStatus(OPEN);
+        open.forEach(engine::add);
+        if (!open.isEmpty()) {
+            log.info("Restored {} open orders to the order books", open.size());
+        }
+    }
+
+    public Order placeOrder(String symbol, String side, String type, double quantity, double triggerPrice) {
+        side = side.toUpperCase(Locale.ROOT);
+        type = type.toUpperCase(Locale.ROOT);
+        if (!side.equals("BUY") && !side.equals("SELL")) {
+            throw new RuntimeException("Invalid side: " + side);
+        }
+        if (!type.equals("LIMIT") && !type.equals("STOP")) {
+            throw new RuntimeException("Invalid type: " + type);
+        }
+        TransactionService.requirePositive(symbol, quantity, triggerPrice);
+        Order order = orderRepository.save(Order.builder()
+                .user(getCurrentUser())
+                .stockSymbol(symbol.toUpperCase(Locale.ROOT))
+                .side(side)
+                .type(type)
+                .quantity(quantity)
+                .triggerPrice(triggerPrice)
+                .status(OPEN)
+                .createdAt(LocalDateTime.now())
+                .build());
+        restAfterCommit(order);
+        log.info("Placed {} {} order {} for {} {} at {}", type, side, order.getId(), quantity,
+                order.getStockSymbol(), triggerPrice);
+        return order;
+    }
+
+    public Order cancelOrder(Long orderId) {
+        Long userId = getCurrentUser().getId();
+        Order order = accountLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+            Order current = orderRepository.findById(orderId)
+                    .filter(o -> o.getUser().getId().equals(userId))
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+            if (!OPEN.equals(current.getStatus())) {
+                throw new RuntimeException("Order is already " + current.getStatus().toLowerCase(Locale.ROOT));
+            }
+            current.setStatus("CANCELLED");
+            current.setClosedAt(LocalDateTime.now());
+            return current;
+        }));
+        engine.cancel(order);
+        return order;
+    }
+
+    public List<Order> getUserOrders() {
+        return orderRepository.findByUserIdOrderByCreatedAtDesc(getCurrentUser().getId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.trigger-tick-ms:5000}")
+    public void tick() {
+        Set<String> symbols = engine.symbols();
+        if (symbols.isEmpty()) {
+            return;
+        }
+        Map<String, Object> quotes;
+        try {
+            quotes = quoteService.getQuotes(symbols, RequestPriority.BACKGROUND);
+        } catch (Exception e) {
+            log.warn("Order trigger tick failed: {}", e.getMessage());
+            return;
+        }
+        quotes.forEach((symbol, value) -> {
+            // A stale quote is a last known good price from a failing provider; never fill on it
+            if (value instanceof Quote quote && quote.getClose() != null && !Boolean.TRUE.equals(quote.getStale())) {
+                onQuote(symbol, quote.getClose());
+            }
+        });
+    }
+
+    /** Executes the resting orders on {@code symbol} that {@code price} crosses. */
+    public int onQuote(String symbol, double price) {
+        List<Long> triggered = engine.onQuote(symbol, price);
+        for (Long orderId : triggered) {
+            fill(orderId, price);
+        }
+        return triggered.size();
+    }
+
+    private void fill(Long orderId, double price) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null || !OPEN.equals(order.getStatus())) {
+            return;
+        }
+        Long userId = order.getUser().getId();
+        try {
+            accountLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+                Order current = orderRepository.findById(orderId).orElseThrow();
+                if (!OPEN.equals(current.getStatus())) {
+                    return null;
+                }
+                Transaction transaction = "BUY".equals(current.getSide())
+                        ? transactionService.buyStock(userId, current.getStockSymbol(), current.getQuantity(), price)
+                        : transactionService.sellStock(userId, current.getStockSymbol(), current.getQuantity(), price);
+                current.setStatus("FILLED");
+                current.setFillPrice(price);
+                current.setTransactionId(transaction.getId());
+                current.setClosedAt(LocalDateTime.now());
+                return current;
+            }));
+        } catch (AccountBusyException | TransientDataAccessException e) {
+            // Nothing was filled; keep the order resting so the next tick retries it
+            log.info("Deferred fill of order {}: {}", orderId, e.getMessage());
+            engine.add(order);
+        } catch (RuntimeException e) {
+            // The fill rolled back on a business check; close the order so it does not fire again
+            reject(orderId, userId, e.getMessage());
+        }
+    }
+
+    private void reject(Long orderId, Long userId, String reason) {
+        accountLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+            Order current = orderRepository.findById(orderId).orElseThrow();
+            if (OPEN.equals(current.getStatus())) {
+                current.setStatus("REJECTED");
+                current.setMessage(reason);
+                current.setClosedAt(LocalDateTime.now());
+                log.info("Rejected order {}: {}", orderId, reason);
+            }
+            return current;
+        }));
+    }
+
+    // A tick that fired the order before its row committed would not find it to fill
+    private void restAfterCommit(Order order) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            engine.add(order);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                engine.add(order);
+            }
+        });
+    }
+
+    private User getCurrentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+}
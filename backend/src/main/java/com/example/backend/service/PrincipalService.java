@@ -0,0 +1,85 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheConfig;
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Authenticated principals by user id, so a request with a valid token costs no
+ * database round trip. Entries are short-lived snapshots: anything that changes
+ * user state (balances in particular) must reload the user rather than trust the
+ * principal. Revoking a user's tokens bumps their token version and drops the
+ * entry, so older tokens fail on this instance's next request and on other
+ * instances once their entry expires. The entry is dropped after the bump commits,
+ * and a load that raced the revoke is not cached, so it cannot put back a principal
+ * carrying the old version.
+ */
+@Service
+public class PrincipalService {
+    private static final Logger log = LoggerFactory.getLogger(PrincipalService.class);
+
+    private final UserRepository userRepository;
+    private final Cache principals;
+    private final Object revocationLock = new Object();
+    private long revocations;
+
+    public PrincipalService(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.principals = cacheManager.getCache(CacheConfig.PRINCIPALS);
+    }
+
+    /** The user with this id, from cache when possible; empty if there is no such user. */
+    public Optional<User> findPrincipal(Long userId) {
+        User cached = principals.get(userId, User.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long seen;
+        synchronized (revocationLock) {
+            seen = revocations;
+        }
+        User user = userRepository.findById(userId).orElse(null);
+        if (user != null) {
+            synchronized (revocationLock) {
+                // A revoke ran during the load, so the row read may predate its version bump
+                if (revocations == seen) {
+                    principals.put(userId, user);
+                }
+            }
+        }
+        return Optional.ofNullable(user);
+    }
+
+    /** Invalidates every token issued to the user so far. */
+    public void revokeTokens(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        // Evicting before the bump commits would let a load in between cache the old version
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+        log.info("Revoked tokens for user {}", userId);
+    }
+
+    private void evict(Long userId) {
+        synchronized (revocationLock) {
+            revocations++;
+            principals.evict(userId);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.service;
+
+public class ProviderBudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ProviderBudgetExceededException(String provider, RequestPriority priority) {
+        super(provider + " request budget exhausted for " + priority.name().toLowerCase() + " requests, try again shortly");
+    }
+}
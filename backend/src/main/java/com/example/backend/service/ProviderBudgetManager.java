@@ -0,0 +1,136 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-provider token buckets sized to each provider's per-minute credit limit.
+ * Every outbound call acquires credits here first. Requests that cannot get
+ * credits within their priority's wait budget are shed with
+ * {@link ProviderBudgetExceededException} instead of hitting the provider and
+ * coming back as a 429.
+ */
+@Service
+public class ProviderBudgetManager {
+    public static final String TWELVEDATA = "twelvedata";
+    public static final String FINNHUB = "finnhub";
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public ProviderBudgetManager(
+        @Value("${app.budget.twelvedata.per-minute:55}") int twelveDataPerMinute,
+        @Value("${app.budget.finnhub.per-minute:60}") int finnhubPerMinute
+    ) {
+        buckets.put(TWELVEDATA, new TokenBucket(twelveDataPerMinute));
+        buckets.put(FINNHUB, new TokenBucket(finnhubPerMinute));
+    }
+
+    public void acquire(String provider, RequestPriority priority) {
+        acquire(provider, priority, 1);
+    }
+
+    /**
+     * Blocks until {@code credits} are available for the given priority, or throws
+     * once the priority's maximum wait has elapsed.
+     */
+    public void acquire(String provider, RequestPriority priority, int credits) {
+        TokenBucket bucket = buckets.get(provider);
+        if (bucket == null) {
+            throw new IllegalArgumentException("Unknown provider: " + provider);
+        }
+        bucket.acquire(priority, credits, provider);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        buckets.forEach((provider, bucket) -> stats.put(provider, bucket.stats()));
+        return stats;
+    }
+
+    static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private final Map<RequestPriority, AtomicLong> granted = new EnumMap<>(RequestPriority.class);
+        private final Map<RequestPriority, AtomicLong> shed = new EnumMap<>(RequestPriority.class);
+        private final Map<RequestPriority, AtomicLong> waitedMs = new EnumMap<>(RequestPriority.class);
+
+        TokenBucket(int perMinute) {
+            this.capacity = Math.max(1, perMinute);
+            this.refillPerNano = capacity / TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+            for (RequestPriority priority : RequestPriority.values()) {
+                granted.put(priority, new AtomicLong());
+                shed.put(priority, new AtomicLong());
+                waitedMs.put(priority, new AtomicLong());
+            }
+        }
+
+        void acquire(RequestPriority priority, int credits, String provider) {
+            // A request larger than the bucket could never fit, so it waits for a full bucket instead
+            double cost = Math.min(credits, capacity);
+            double floor = priority == RequestPriority.INTERACTIVE ? 0 : capacity * priority.getReservedFraction();
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(priority.getMaxWaitMs());
+
+            while (true) {
+                long waitNanos;
+                synchronized (this) {
+                    refill();
+                    if (tokens - cost >= floor) {
+                        tokens -= cost;
+                        granted.get(priority).incrementAndGet();
+                        waitedMs.get(priority).addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        return;
+                    }
+                    waitNanos = (long) Math.ceil((cost + floor - tokens) / refillPerNano);
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || waitNanos > remaining) {
+                    shed.get(priority).incrementAndGet();
+                    throw new ProviderBudgetExceededException(provider, priority);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    shed.get(priority).incrementAndGet();
+                    throw new ProviderBudgetExceededException(provider, priority);
+                }
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+
+        synchronized Map<String, Object> stats() {
+            refill();
+            Map<String, Object> perPriority = new LinkedHashMap<>();
+            for (RequestPriority priority : RequestPriority.values()) {
+                perPriority.put(priority.name().toLowerCase(), Map.of(
+                    "granted", granted.get(priority).get(),
+                    "shed", shed.get(priority).get(),
+                    "waitedMs", waitedMs.get(priority).get()
+                ));
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("perMinute", (long) capacity);
+            stats.put("remaining", Math.floor(tokens));
+            stats.put("priorities", perPriority);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.StaleMarkable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One circuit breaker per provider endpoint, plus the last good response per
+ * endpoint and key. While a circuit is open, calls fail fast and, where a previous
+ * response exists, that response is served marked as stale instead of an error.
+ */
+@Service
+public class ProviderCircuitBreakers {
+    private static final Logger log = LoggerFactory.getLogger(ProviderCircuitBreakers.class);
+
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LastGood> lastGood = new ConcurrentHashMap<>();
+
+    @Value("${app.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.breaker.minimum-calls:5}")
+    private int minimumCalls;
+
+    @Value("${app.breaker.failure-rate-percent:50}")
+    private double failureRatePercent;
+
+    @Value("${app.breaker.open-ms:30000}")
+    private long openMs;
+
+    @Value("${app.breaker.last-known-good-max-entries:5000}")
+    private int lastKnownGoodMaxEntries;
+
+    /**
+     * Runs {@code call} through the endpoint's breaker. Successful results are kept as
+     * the last known good value for {@code key} (pass {@code null} to skip that).
+     * When the circuit is open or the provider fails, the last known good value is
+     * returned marked stale if there is one; otherwise the failure is thrown.
+     */
+    public <T> T call(String provider, String endpoint, String key, Supplier<T> call) {
+        CircuitBreaker breaker = breaker(provider, endpoint);
+        if (!breaker.tryAcquire()) {
+            return this.<T>lastKnownGood(provider, endpoint, key)
+                .orElseThrow(() -> new ProviderUnavailableException(provider, endpoint));
+        }
+
+        T value;
+        try {
+            value = call.get();
+        } catch (ProviderBudgetExceededException e) {
+            breaker.onIgnored();
+            return this.<T>lastKnownGood(provider, endpoint, key).orElseThrow(() -> e);
+        } catch (RuntimeException e) {
+            if (!isProviderFault(e)) {
+                // The provider answered; the request itself was bad
+                breaker.onSuccess();
+                throw e;
+            }
+            breaker.onFailure();
+            if (breaker.getState() == CircuitBreaker.State.OPEN) {
+                log.warn("Circuit for {} {} is open after: {}", provider, endpoint, e.getMessage());
+            }
+            Optional<T> fallback = lastKnownGood(provider, endpoint, key);
+            if (fallback.isPresent()) {
+                return fallback.get();
+            }
+            throw e instanceof ProviderUnavailableException ? e : new ProviderUnavailableException(e.getMessage());
+        }
+        breaker.onSuccess();
+        remember(provider, endpoint, key, value);
+        return value;
+    }
+
+    public void remember(String provider, String endpoint, String key, Object value) {
+        if (key == null || value == null) {
+            return;
+        }
+        String id = provider + ":" + endpoint + ":" + key;
+        if (lastGood.size() >= lastKnownGoodMaxEntries && !lastGood.containsKey(id)) {
+            return;
+        }
+        lastGood.put(id, new LastGood(value, Instant.now()));
+    }
+
+    /**
+     * The last good value for {@code key}, marked stale: typed responses through
+     * {@link StaleMarkable}, raw maps by copying them with {@code stale} and
+     * {@code stale_as_of} added.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> lastKnownGood(String provider, String endpoint, String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        LastGood entry = lastGood.get(provider + ":" + endpoint + ":" + key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of((T) markStale(entry.value(), entry.storedAt()));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        breakers.forEach((name, breaker) -> stats.put(name, breaker.stats()));
+        return stats;
+    }
+
+    private CircuitBreaker breaker(String provider, String endpoint) {
+        return breakers.computeIfAbsent(provider + ":" + endpoint,
+            k -> new CircuitBreaker(windowSize, minimumCalls, failureRatePercent, openMs));
+    }
+
+    private static boolean isProviderFault(RuntimeException e) {
+        return e instanceof ResourceAccessException
+            || e instanceof HttpServerErrorException
+            || e instanceof HttpClientErrorException.TooManyRequests
+            || e instanceof ProviderUnavailableException;
+    }
+
+    private static Object markStale(Object value, Instant storedAt) {
+        if (value instanceof StaleMarkable<?> markable) {
+            return markable.markStale();
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(map);
+            copy.put("stale", true);
+            copy.put("stale_as_of", storedAt.toString());
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object item : list) {
+                copy.add(markStale(item, storedAt));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    private record LastGood(Object value, Instant storedAt) {
+    }
+}
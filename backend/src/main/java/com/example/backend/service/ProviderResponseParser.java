@@ -0,0 +1,483 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BasicFinancials;
+import com.example.backend.dto.CompanyProfile;
+import com.example.backend.dto.FinnhubQuote;
+import com.example.backend.dto.NewsItem;
+import com.example.backend.dto.Quote;
+import com.example.backend.dto.TimeSeries;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming parsers for provider responses. Tokens are read straight into typed
+ * records and primitive arrays, so no intermediate Map/List tree is built and
+ * numeric strings are converted once, as they are read. Subtrees the app does
+ * not use (time_series meta, 52-week blocks, Finnhub metric series) are skipped
+ * without being materialized.
+ */
+public final class ProviderResponseParser {
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private ProviderResponseParser() {
+    }
+
+    public static TimeSeries timeSeries(InputStream body) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            TwelveDataError error = new TwelveDataError();
+            int size = 0;
+            long[] times = new long[64];
+            double[] open = new double[64];
+            double[] high = new double[64];
+            double[] low = new double[64];
+            double[] close = new double[64];
+            long[] volume = new long[64];
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("values".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        if (size == times.length) {
+                            int grown = size * 2;
+                            times = Arrays.copyOf(times, grown);
+                            open = Arrays.copyOf(open, grown);
+                            high = Arrays.copyOf(high, grown);
+                            low = Arrays.copyOf(low, grown);
+                            close = Arrays.copyOf(close, grown);
+                            volume = Arrays.copyOf(volume, grown);
+                        }
+                        long time = Long.MIN_VALUE;
+                        while (p.nextToken() == JsonToken.FIELD_NAME) {
+                            String name = p.currentName();
+                            p.nextToken();
+                            switch (name) {
+                                case "datetime" -> time = readDateTime(p);
+                                case "open" -> open[size] = readDouble(p);
+                                case "high" -> high[size] = readDouble(p);
+                                case "low" -> low[size] = readDouble(p);
+                                case "close" -> close[size] = readDouble(p);
+                                case "volume" -> volume[size] = (long) readDouble(p);
+                                default -> p.skipChildren();
+                            }
+                        }
+                        if (time != Long.MIN_VALUE) {
+                            times[size++] = time;
+                        }
+                    }
+                } else if (!error.read(field, p)) {
+                    p.skipChildren();
+                }
+            }
+            error.throwIfPresent();
+            return new TimeSeries(size, Arrays.copyOf(times, size), Arrays.copyOf(open, size),
+                Arrays.copyOf(high, size), Arrays.copyOf(low, size), Arrays.copyOf(close, size),
+                Arrays.copyOf(volume, size));
+        }
+    }
+
+    /** A single-symbol TwelveData quote; provider errors are thrown. */
+    public static Quote twelveDataQuote(InputStream body, String symbol) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            TwelveDataError error = new TwelveDataError();
+            Quote quote = readTwelveDataQuote(p, symbol, error);
+            error.throwIfPresent();
+            return quote;
+        }
+    }
+
+    /**
+     * A multi-symbol TwelveData quote response. Each symbol maps to its quote, or to
+     * the exception describing its per-symbol error. A failure of the whole request
+     * is thrown.
+     */
+    public static Map<String, Object> twelveDataQuotes(InputStream body) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            TwelveDataError error = new TwelveDataError();
+            Map<String, Object> result = new LinkedHashMap<>();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                if (p.nextToken() == JsonToken.START_OBJECT) {
+                    TwelveDataError symbolError = new TwelveDataError();
+                    Quote quote = readTwelveDataQuote(p, field, symbolError);
+                    result.put(field, symbolError.isPresent() ? symbolError.toException() : quote);
+                } else if (!error.read(field, p)) {
+                    p.skipChildren();
+                }
+            }
+            error.throwIfPresent();
+            return result;
+        }
+    }
+
+    public static List<SymbolIndex.ListedSymbol> stockListing(InputStream body) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            TwelveDataError error = new TwelveDataError();
+            List<SymbolIndex.ListedSymbol> symbols = new ArrayList<>();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        String symbol = null;
+                        String name = null;
+                        String exchange = null;
+                        String micCode = null;
+                        String country = null;
+                        String type = null;
+                        String currency = null;
+                        while (p.nextToken() == JsonToken.FIELD_NAME) {
+                            String key = p.currentName();
+                            p.nextToken();
+                            switch (key) {
+                                case "symbol" -> symbol = p.getValueAsString();
+                                case "name" -> name = p.getValueAsString();
+                                case "exchange" -> exchange = p.getValueAsString();
+                                case "mic_code" -> micCode = p.getValueAsString();
+                                case "country" -> country = p.getValueAsString();
+                                case "type" -> type = p.getValueAsString();
+                                case "currency" -> currency = p.getValueAsString();
+                                default -> p.skipChildren();
+                            }
+                        }
+                        if (symbol != null) {
+                            symbols.add(new SymbolIndex.ListedSymbol(symbol, name, exchange, micCode, country, type, currency));
+                        }
+                    }
+                } else if (!error.read(field, p)) {
+                    p.skipChildren();
+                }
+            }
+            error.throwIfPresent();
+            return symbols;
+        }
+    }
+
+    public static FinnhubQuote finnhubQuote(InputStream body) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            double c = 0, d = 0, dp = 0, h = 0, l = 0, o = 0, pc = 0;
+            long t = 0;
+            String error = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "c" -> c = readDouble(p);
+                    case "d" -> d = readDouble(p);
+                    case "dp" -> dp = readDouble(p);
+                    case "h" -> h = readDouble(p);
+                    case "l" -> l = readDouble(p);
+                    case "o" -> o = readDouble(p);
+                    case "pc" -> pc = readDouble(p);
+                    case "t" -> t = p.getValueAsLong(0);
+                    case "error" -> error = p.getValueAsString();
+                    default -> p.skipChildren();
+                }
+            }
+            throwFinnhubError(error);
+            return new FinnhubQuote(c, d, dp, h, l, o, pc, t, false);
+        }
+    }
+
+    public static CompanyProfile companyProfile(InputStream body) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            String ticker = null, name = null, exchange = null, country = null, currency = null;
+            String industry = null, weburl = null, logo = null, ipo = null, error = null;
+            double marketCapitalization = 0, shareOutstanding = 0;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "ticker" -> ticker = p.getValueAsString();
+                    case "name" -> name = p.getValueAsString();
+                    case "exchange" -> exchange = p.getValueAsString();
+                    case "country" -> country = p.getValueAsString();
+                    case "currency" -> currency = p.getValueAsString();
+                    case "finnhubIndustry" -> industry = p.getValueAsString();
+                    case "weburl" -> weburl = p.getValueAsString();
+                    case "logo" -> logo = p.getValueAsString();
+                    case "ipo" -> ipo = p.getValueAsString();
+                    case "marketCapitalization" -> marketCapitalization = readDouble(p);
+                    case "shareOutstanding" -> shareOutstanding = readDouble(p);
+                    case "error" -> error = p.getValueAsString();
+                    default -> p.skipChildren();
+                }
+            }
+            throwFinnhubError(error);
+            return new CompanyProfile(ticker, name, exchange, country, currency, industry, weburl, logo, ipo,
+                marketCapitalization, shareOutstanding, false);
+        }
+    }
+
+    public static BasicFinancials basicFinancials(InputStream body) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            expect(p.nextToken(), JsonToken.START_OBJECT);
+            String symbol = null;
+            String error = null;
+            Map<String, Double> metric = new HashMap<>();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("metric".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = p.currentName();
+                        JsonToken token = p.nextToken();
+                        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+                            metric.put(name, p.getDoubleValue());
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                } else if ("symbol".equals(field)) {
+                    symbol = p.getValueAsString();
+                } else if ("error".equals(field)) {
+                    error = p.getValueAsString();
+                } else {
+                    p.skipChildren();
+                }
+            }
+            throwFinnhubError(error);
+            return new BasicFinancials(symbol, metric, false);
+        }
+    }
+
+    public static List<NewsItem> news(InputStream body) throws IOException {
+        try (JsonParser p = JSON.createParser(body)) {
+            JsonToken first = p.nextToken();
+            if (first == JsonToken.START_OBJECT) {
+                // Finnhub reports errors on list endpoints as an object
+                String error = "Unexpected response from Finnhub";
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    if ("error".equals(field)) {
+                        error = p.getValueAsString();
+                    } else {
+                        p.skipChildren();
+                    }
+                }
+                throw new RuntimeException(error);
+            }
+            expect(first, JsonToken.START_ARRAY);
+            List<NewsItem> items = new ArrayList<>();
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                long id = 0, datetime = 0;
+                String category = null, headline = null, image = null, related = null;
+                String source = null, summary = null, url = null;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "id" -> id = p.getValueAsLong(0);
+                        case "datetime" -> datetime = p.getValueAsLong(0);
+                        case "category" -> category = p.getValueAsString();
+                        case "headline" -> headline = p.getValueAsString();
+                        case "image" -> image = p.getValueAsString();
+                        case "related" -> related = p.getValueAsString();
+                        case "source" -> source = p.getValueAsString();
+                        case "summary" -> summary = p.getValueAsString();
+                        case "url" -> url = p.getValueAsString();
+                        default -> p.skipChildren();
+                    }
+                }
+                items.add(new NewsItem(id, category, datetime, headline, image, related, source, summary, url));
+            }
+            return items;
+        }
+    }
+
+    private static Quote readTwelveDataQuote(JsonParser p, String symbol, TwelveDataError error) throws IOException {
+        Quote.QuoteBuilder quote = Quote.builder().symbol(symbol).source(ProviderBudgetManager.TWELVEDATA);
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "symbol" -> quote.symbol(p.getValueAsString());
+                case "name" -> quote.name(p.getValueAsString());
+                case "exchange" -> quote.exchange(p.getValueAsString());
+                case "currency" -> quote.currency(p.getValueAsString());
+                case "open" -> quote.open(readDouble(p));
+                case "high" -> quote.high(readDouble(p));
+                case "low" -> quote.low(readDouble(p));
+                case "close" -> quote.close(readDouble(p));
+                case "previous_close" -> quote.previousClose(readDouble(p));
+                case "change" -> quote.change(readDouble(p));
+                case "percent_change" -> quote.percentChange(readDouble(p));
+                case "volume" -> quote.volume((long) readDouble(p));
+                case "timestamp" -> quote.timestamp(p.getValueAsLong(0));
+                case "is_market_open" -> quote.marketOpen(p.getValueAsBoolean());
+                default -> {
+                    if (!error.read(field, p)) {
+                        p.skipChildren();
+                    }
+                }
+            }
+        }
+        return quote.build();
+    }
+
+    /**
+     * Reads the current value as a double. TwelveData sends prices as strings; plain
+     * decimals are converted from the parser's character buffer without creating a
+     * String. This is exact: a mantissa of at most 15 digits and a power of ten up to 10^15 are
+     * both exactly representable, so the single division rounds correctly. Anything
+     * else goes through {@link Double#parseDouble}.
+     */
+    static double readDouble(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getDoubleValue();
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            return 0.0;
+        }
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+        int end = offset + length;
+        int i = offset;
+        boolean negative = i < end && chars[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (++digits > 15) {
+                    return slowDouble(chars, offset, length);
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return slowDouble(chars, offset, length);
+            }
+        }
+        if (digits == 0) {
+            return slowDouble(chars, offset, length);
+        }
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static double slowDouble(char[] chars, int offset, int length) {
+        try {
+            return Double.parseDouble(new String(chars, offset, length));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    /** Reads "yyyy-MM-dd" or "yyyy-MM-dd HH:mm:ss" as epoch seconds, straight from the parser's buffer. */
+    static long readDateTime(JsonParser p) throws IOException {
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+        if (length < 10) {
+            throw new IOException("Invalid date/time: " + new String(chars, offset, length));
+        }
+        long seconds = epochDay(digits(chars, offset, 4), digits(chars, offset + 5, 2), digits(chars, offset + 8, 2)) * 86_400L;
+        if (length >= 19) {
+            seconds += digits(chars, offset + 11, 2) * 3_600L
+                + digits(chars, offset + 14, 2) * 60L
+                + digits(chars, offset + 17, 2);
+        }
+        return seconds;
+    }
+
+    private static int digits(char[] chars, int from, int count) throws IOException {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                throw new IOException("Invalid date/time digit: " + c);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // Days from 1970-01-01 in the proleptic Gregorian calendar (same as LocalDate.toEpochDay)
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected provider response: expected " + expected + " but got " + actual);
+        }
+    }
+
+    private static void throwFinnhubError(String error) {
+        if (error != null) {
+            throw new RuntimeException(error);
+        }
+    }
+
+    /** Collects TwelveData's error fields (status, code, message) while an object is read. */
+    private static final class TwelveDataError {
+        private String status;
+        private Integer code;
+        private String message;
+
+        boolean read(String field, JsonParser p) throws IOException {
+            switch (field) {
+                case "status" -> status = p.getValueAsString();
+                case "code" -> code = p.getValueAsInt(0);
+                case "message" -> message = p.getValueAsString();
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isPresent() {
+            return "error".equals(status) || code != null || message != null;
+        }
+
+        RuntimeException toException() {
+            String text = message != null ? message : "TwelveData API error";
+            if (code != null && (code == 429 || code >= 500)) {
+                return new ProviderUnavailableException(text);
+            }
+            return new RuntimeException(text);
+        }
+
+        void throwIfPresent() {
+            if (isPresent()) {
+                throw toException();
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.service;
+
+/**
+ * A provider failed in a way that says nothing about the request itself: it timed
+ * out, returned a 5xx, rate-limited us, or its circuit is open.
+ */
+public class ProviderUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ProviderUnavailableException(String provider, String endpoint) {
+        super(provider + " " + endpoint + " is temporarily unavailable, try again shortly");
+    }
+
+    public ProviderUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.FinnhubQuote;
+import com.example.backend.dto.Quote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Quotes in one shape regardless of provider. TwelveData is the primary source.
+ * With hedging enabled, a quote that TwelveData has not returned within the hedge
+ * delay (the p95 of its recent provider round trips, floored by the configured
+ * delay) is also requested from Finnhub, and whichever answers first wins. The losing request is left to
+ * finish: both providers load through single-flight caches that other callers may
+ * have joined, so interrupting it would fail them too, and its answer still fills
+ * the cache.
+ */
+@Service
+public class QuoteService {
+    private static final Logger log = LoggerFactory.getLogger(QuoteService.class);
+
+    private final StockService stockService;
+    private final FinnhubService finnhubService;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${app.quotes.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${app.quotes.hedge.delay-ms:400}")
+    private long hedgeDelayMs;
+
+    @Value("${app.quotes.hedge.timeout-ms:8000}")
+    private long hedgeTimeoutMs;
+
+    @Value("${app.quotes.hedge.batch-fallback-timeout-ms:2000}")
+    private long batchFallbackTimeoutMs;
+
+    public QuoteService(StockService stockService,
+                        FinnhubService finnhubService,
+                        @Qualifier("marketDataExecutor") ThreadPoolTaskExecutor executor) {
+        this.stockService = stockService;
+        this.finnhubService = finnhubService;
+        this.executor = executor;
+    }
+
+    public Quote getQuote(String symbol) {
+        String normalized = symbol.trim().toUpperCase(Locale.ROOT);
+        if (!hedgeEnabled) {
+            return stockService.getQuote(normalized);
+        }
+        return hedged(normalized);
+    }
+
+    /**
+     * Batch quotes from the primary provider. With hedging enabled, symbols the
+     * primary could not quote are retried against Finnhub in parallel; fallbacks
+     * still running after {@code app.quotes.hedge.batch-fallback-timeout-ms} keep
+     * the primary's error, so a large batch costs one deadline rather than one
+     * budget wait per symbol. Both providers are called at {@code priority}.
+     */
+    public Map<String, Object> getQuotes(Collection<String> symbols, RequestPriority priority) {
+        Map<String, Object> quotes = stockService.getQuotes(symbols, priority);
+        Map<String, CompletableFuture<Quote>> fallbacks = new HashMap<>();
+        if (hedgeEnabled) {
+            quotes.forEach((symbol, quote) -> {
+                if (!(quote instanceof Quote)) {
+                    try {
+                        fallbacks.put(symbol, CompletableFuture.supplyAsync(
+                            () -> fromFinnhub(symbol, finnhubService.getQuote(symbol, priority)), executor));
+                    } catch (TaskRejectedException e) {
+                        log.debug("No capacity for a secondary quote for {}", symbol);
+                    }
+                }
+            });
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchFallbackTimeoutMs);
+        Map<String, Object> result = new LinkedHashMap<>();
+        quotes.forEach((symbol, quote) -> {
+            CompletableFuture<Quote> fallback = fallbacks.get(symbol);
+            if (fallback != null) {
+                try {
+                    // Not cancelled on timeout: the load may be shared, and it still fills the cache
+                    result.put(symbol, fallback.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException | TimeoutException e) {
+                    log.debug("Secondary quote for {} failed: {}", symbol,
+                        e instanceof ExecutionException ? e.getCause().getMessage() : "timed out");
+                }
+            }
+            result.put(symbol, quote);
+        });
+        return result;
+    }
+
+    /** Current hedge delay: the primary's observed p95, never below the configured delay. */
+    public long getHedgeDelayMs() {
+        return Math.max(hedgeDelayMs, stockService.quoteLatencyPercentile(95));
+    }
+
+    private Quote hedged(String symbol) {
+        CompletableFuture<Quote> winner = new CompletableFuture<>();
+        CompletableFuture<Void> primaryDone = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        Future<?> primary;
+        try {
+            primary = executor.submit(() -> {
+                try {
+                    race(winner, failures, () -> stockService.getQuote(symbol));
+                } finally {
+                    primaryDone.complete(null);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            return stockService.getQuote(symbol);
+        }
+
+        Future<?> secondary = null;
+        try {
+            try {
+                primaryDone.get(getHedgeDelayMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Primary is slower than usual: race the secondary against it
+            }
+            if (!winner.isDone()) {
+                secondary = executor.submit(() -> race(winner, failures,
+                    () -> fromFinnhub(symbol, finnhubService.getQuote(symbol))));
+            }
+            return winner.get(hedgeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ProviderUnavailableException("Timed out waiting for a quote for " + symbol);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a quote", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+        } catch (TaskRejectedException e) {
+            // No capacity for the secondary; fall back to waiting on the primary alone
+            try {
+                return winner.get(hedgeTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (Exception inner) {
+                throw new ProviderUnavailableException("Timed out waiting for a quote for " + symbol);
+            }
+        } finally {
+            // Only drops a leg still queued; a running one may be a load other requests joined
+            primary.cancel(false);
+            if (secondary != null) {
+                secondary.cancel(false);
+            }
+        }
+    }
+
+    /** Completes {@code winner} with the first success, or with the error once both legs have failed. */
+    private static void race(CompletableFuture<Quote> winner, AtomicInteger failures, Supplier<Quote> leg) {
+        try {
+            winner.complete(leg.get());
+        } catch (RuntimeException e) {
+            if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(e);
+            }
+        }
+    }
+
+    static Quote fromFinnhub(String symbol, FinnhubQuote raw) {
+        // Finnhub answers unknown symbols with an all-zero quote rather than an error
+        if (raw.current() == 0.0) {
+            throw new RuntimeException("No Finnhub quote for " + symbol);
+        }
+        return Quote.builder()
+            .symbol(symbol)
+            .open(raw.open())
+            .high(raw.high())
+            .low(raw.low())
+            .close(raw.current())
+            .previousClose(raw.previousClose())
+            .change(raw.change())
+            .percentChange(raw.percentChange())
+            .timestamp(raw.timestamp())
+            .source(ProviderBudgetManager.FINNHUB)
+            .stale(raw.stale() ? Boolean.TRUE : null)
+            .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.Quote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans live quotes out to Server-Sent Event subscribers. Each tick the hub quotes
+ * the union of all subscribed symbols once and pushes only the quotes that changed
+ * to the subscribers watching them. Every subscriber has a small bounded queue
+ * drained on the market-data pool; a subscriber whose queue fills up is too slow
+ * to keep up and is disconnected rather than buffering without limit. Ticks run at
+ * background priority and the union of streamed symbols is capped, so streams
+ * cannot crowd interactive quote lookups out of the provider budget.
+ */
+@Service
+public class QuoteStreamHub {
+    private static final Logger log = LoggerFactory.getLogger(QuoteStreamHub.class);
+
+    private final QuoteService quoteService;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribersBySymbol = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Quote> lastSent = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Value("${app.stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.stream.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${app.stream.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${app.stream.max-symbols:200}")
+    private int maxSymbols;
+
+    public QuoteStreamHub(QuoteService quoteService,
+                          @Qualifier("marketDataExecutor") ThreadPoolTaskExecutor executor) {
+        this.quoteService = quoteService;
+        this.executor = executor;
+    }
+
+    public SseEmitter subscribe(Collection<String> symbols) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Too many open quote streams, try again later");
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                normalized.add(symbol.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        if (normalized.isEmpty()) {
+            throw new RuntimeException("No symbols to stream");
+        }
+        // Soft cap: concurrent subscribes can overshoot by a few symbols
+        long added = normalized.stream().filter(symbol -> !subscribersBySymbol.containsKey(symbol)).count();
+        if (subscribersBySymbol.size() + added > maxSymbols) {
+            throw new RuntimeException("Too many streamed symbols, try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(ids.incrementAndGet(), normalized, emitter, queueCapacity);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscribers.put(subscriber.id, subscriber);
+        for (String symbol : normalized) {
+            subscribersBySymbol.computeIfAbsent(symbol, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        // Send a full snapshot straight away; symbols already on the stream come from
+        // the last tick, the rest are quoted (through the shared quote cache) off-thread
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String symbol : normalized) {
+            Quote quote = lastSent.get(symbol);
+            if (quote != null) {
+                snapshot.put(symbol, quote);
+            } else {
+                missing.add(symbol);
+            }
+        }
+        if (!snapshot.isEmpty()) {
+            enqueue(subscriber, snapshot);
+        }
+        if (!missing.isEmpty()) {
+            try {
+                executor.execute(() -> enqueue(subscriber, quotesOnly(quoteService.getQuotes(missing, RequestPriority.BACKGROUND))));
+            } catch (RejectedExecutionException e) {
+                log.debug("Initial quotes for stream {} deferred to next tick", subscriber.id);
+            }
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.tick-ms:15000}")
+    public void tick() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<String> symbols = new LinkedHashSet<>(subscribersBySymbol.keySet());
+        Map<String, Object> quotes;
+        try {
+            quotes = quotesOnly(quoteService.getQuotes(symbols, RequestPriority.BACKGROUND));
+        } catch (Exception e) {
+            log.warn("Quote stream tick failed: {}", e.getMessage());
+            return;
+        }
+
+        Map<Subscriber, Map<String, Object>> deltas = new LinkedHashMap<>();
+        quotes.forEach((symbol, quote) -> {
+            Object previous = lastSent.put(symbol, (Quote) quote);
+            if (quote.equals(previous)) {
+                return;
+            }
+            for (Subscriber subscriber : subscribersBySymbol.getOrDefault(symbol, Set.of())) {
+                deltas.computeIfAbsent(subscriber, k -> new LinkedHashMap<>()).put(symbol, quote);
+            }
+        });
+
+        for (Subscriber subscriber : subscribers.values()) {
+            Map<String, Object> delta = deltas.get(subscriber);
+            // Quiet subscribers still get a heartbeat so dead connections are noticed
+            enqueue(subscriber, delta != null ? delta : Map.of());
+        }
+        lastSent.keySet().retainAll(subscribersBySymbol.keySet());
+    }
+
+    private void enqueue(Subscriber subscriber, Map<String, Object> quotes) {
+        if (!subscribers.containsKey(subscriber.id)) {
+            return;
+        }
+        if (!subscriber.queue.offer(quotes)) {
+            evictions.incrementAndGet();
+            log.info("Evicting slow quote stream subscriber {}", subscriber.id);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Left queued; the next enqueue retries the drain
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Map<String, Object> quotes;
+            while ((quotes = subscriber.queue.poll()) != null) {
+                if (quotes.isEmpty()) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name("quotes").data(quotes));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty() && subscribers.containsKey(subscriber.id)
+                && subscriber.draining.compareAndSet(false, true)) {
+            drain(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber.id) == null) {
+            return;
+        }
+        for (String symbol : subscriber.symbols) {
+            subscribersBySymbol.computeIfPresent(symbol, (k, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        subscriber.queue.clear();
+    }
+
+    /** Drops per-symbol error entries so a failed quote never overwrites a good one on the client. */
+    private static Map<String, Object> quotesOnly(Map<String, Object> quotes) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        quotes.forEach((symbol, quote) -> {
+            if (quote instanceof Quote) {
+                result.put(symbol, quote);
+            }
+        });
+        return result;
+    }
+
+    private static final class Subscriber {
+        private final long id;
+        private final Set<String> symbols;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Map<String, Object>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(long id, Set<String> symbols, SseEmitter emitter, int capacity) {
+            this.id = id;
+            this.symbols = symbols;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
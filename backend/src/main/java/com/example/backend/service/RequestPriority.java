@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+/**
+ * Priority classes for outbound provider calls, highest first. Lower priorities
+ * must leave a larger share of the per-minute budget untouched, so background
+ * work cannot starve interactive lookups.
+ */
+public enum RequestPriority {
+    INTERACTIVE(0.0, 2_000),
+    CHART(0.1, 1_500),
+    BACKGROUND(0.3, 10_000),
+    NEWS(0.5, 0);
+
+    private final double reservedFraction;
+    private final long maxWaitMs;
+
+    RequestPriority(double reservedFraction, long maxWaitMs) {
+        this.reservedFraction = reservedFraction;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /** Share of the bucket this priority may not consume. */
+    public double getReservedFraction() {
+        return reservedFraction;
+    }
+
+    /** How long a request of this priority may queue for budget before it is shed. */
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+}
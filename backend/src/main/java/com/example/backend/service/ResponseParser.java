@@ -0,0 +1,10 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/** Reads a typed value from a provider response body. */
+@FunctionalInterface
+public interface ResponseParser<T> {
+    T parse(InputStream body) throws IOException;
+}
@@ -0,0 +1,205 @@
+package com.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide TTL cache that collapses concurrent misses for the same key
+ * into a single load. Callers arriving while a load is in flight wait for
+ * its result instead of issuing their own request.
+ *
+ * <p>Keys often come from clients (symbols), so entries live in a Caffeine cache
+ * bounded by {@code maximumSize} and expired after the TTL, rather than in a map
+ * that keeps every key ever asked for.
+ *
+ * <p>Loads can be given a lane, e.g. the request priority. Callers only join a load
+ * in their own lane, so an interactive caller never waits behind a background load
+ * that may be queued or shed; every lane still reads and fills the same entries.
+ */
+public class SingleFlightCache<K, V> {
+    static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Cache<K, V> entries;
+    private final ConcurrentHashMap<Flight<K>, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightCache(Duration ttl) {
+        this(ttl, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public SingleFlightCache(Duration ttl, long maximumSize) {
+        this(ttl, maximumSize, System::nanoTime);
+    }
+
+    SingleFlightCache(Duration ttl, long maximumSize, LongSupplier clock) {
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .ticker(clock::getAsLong)
+            .build();
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        return get(key, null, loader);
+    }
+
+    public V get(K key, Object lane, Function<K, V> loader) {
+        V cached = getIfFresh(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Flight<K> flight = new Flight<>(key, lane);
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(flight, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // Another caller may have finished loading between our miss and our registration
+            V value = getIfFresh(key);
+            if (value == null) {
+                value = loader.apply(key);
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, mine);
+        }
+    }
+
+    /**
+     * Resolves many keys at once. Fresh entries are served from the cache, keys
+     * already being loaded by another caller are joined, and the remaining keys
+     * are handed to the loader in a single call. Each returned future completes
+     * independently, so one failed key does not fail the others.
+     */
+    public Map<K, CompletableFuture<V>> getAll(Collection<K> keys, BatchLoader<K, V> loader) {
+        return getAll(keys, null, loader);
+    }
+
+    public Map<K, CompletableFuture<V>> getAll(Collection<K> keys, Object lane, BatchLoader<K, V> loader) {
+        Map<K, CompletableFuture<V>> result = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (result.containsKey(key)) {
+                continue;
+            }
+            V cached = getIfFresh(key);
+            if (cached != null) {
+                result.put(key, CompletableFuture.completedFuture(cached));
+                continue;
+            }
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(new Flight<>(key, lane), mine);
+            if (existing != null) {
+                result.put(key, existing);
+            } else {
+                owned.put(key, mine);
+                result.put(key, mine);
+            }
+        }
+        if (owned.isEmpty()) {
+            return result;
+        }
+
+        try {
+            List<K> toLoad = new ArrayList<>(owned.size());
+            owned.forEach((key, future) -> {
+                V value = getIfFresh(key);
+                if (value != null) {
+                    future.complete(value);
+                } else {
+                    toLoad.add(key);
+                }
+            });
+            if (!toLoad.isEmpty()) {
+                loader.load(toLoad,
+                    (key, value) -> {
+                        CompletableFuture<V> future = owned.get(key);
+                        if (future != null && value != null) {
+                            put(key, value);
+                            future.complete(value);
+                        }
+                    },
+                    (key, error) -> {
+                        CompletableFuture<V> future = owned.get(key);
+                        if (future != null) {
+                            future.completeExceptionally(error);
+                        }
+                    });
+            }
+            owned.forEach((key, future) ->
+                future.completeExceptionally(new RuntimeException("No data returned for " + key)));
+        } catch (RuntimeException e) {
+            owned.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            owned.forEach((key, future) -> inFlight.remove(new Flight<>(key, lane), future));
+        }
+        return result;
+    }
+
+    public V getIfFresh(K key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public void invalidate(K key) {
+        entries.invalidate(key);
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for in-flight load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BatchLoader<K, V> {
+        /**
+         * Loads the given keys, reporting each outcome through one of the callbacks.
+         * Keys reported through neither callback are treated as failed.
+         */
+        void load(List<K> keys, BiConsumer<K, V> onValue, BiConsumer<K, RuntimeException> onError);
+    }
+
+    private record Flight<K>(K key, Object lane) {
+    }
+}
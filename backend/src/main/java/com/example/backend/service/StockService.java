@@ -1,72 +1,406 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.Quote;
+import com.example.backend.dto.TimeSeries;
+import com.example.backend.model.Candle;
+import com.example.backend.repository.CandleRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class StockService {
-    private final RestTemplate restTemplate;
+    private final TwelveDataClient client;
+    private final ProviderBudgetManager budgetManager;
+    private final ProviderCircuitBreakers breakers;
+    private final CandleRepository candleRepository;
     private static final Logger log = LoggerFactory.getLogger(StockService.class);
-    
-    @Value("${twelvedata.api.key}")
-    private String apiKey;
-    
-    private static final String BASE_URL = "https://api.twelvedata.com";
+
+    @Value("${app.quote-cache.ttl-seconds:15}")
+    private long quoteCacheTtlSeconds;
+
+    @Value("${app.quote-cache.max-entries:10000}")
+    private long quoteCacheMaxEntries;
+
+    @Value("${app.quote-batch.chunk-size:50}")
+    private int quoteBatchChunkSize;
+
+    @Value("${app.candles.initial-bars:500}")
+    private int initialCandles;
+
+    @Value("${app.candles.sync-seconds:60}")
+    private long candleSyncSeconds;
+
+    @Value("${app.candles.max-sync-seconds:900}")
+    private long maxCandleSyncSeconds;
+
+    private SingleFlightCache<String, Quote> quoteCache;
+    // Provider round trips of single-symbol quotes only; cache hits and budget waits are not latency
+    private final LatencyWindow quoteLatency = new LatencyWindow(256);
+    // Per interval: how many bars of each symbol's series the last sync left stored, collapsing concurrent gap-fills
+    private final Map<String, SingleFlightCache<String, Integer>> candleSyncs = new HashMap<>();
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Map<String, Duration> INTERVALS = Map.ofEntries(
+        Map.entry("1min", Duration.ofMinutes(1)),
+        Map.entry("5min", Duration.ofMinutes(5)),
+        Map.entry("15min", Duration.ofMinutes(15)),
+        Map.entry("30min", Duration.ofMinutes(30)),
+        Map.entry("45min", Duration.ofMinutes(45)),
+        Map.entry("1h", Duration.ofHours(1)),
+        Map.entry("2h", Duration.ofHours(2)),
+        Map.entry("4h", Duration.ofHours(4)),
+        Map.entry("8h", Duration.ofHours(8)),
+        Map.entry("1day", Duration.ofDays(1)),
+        Map.entry("1week", Duration.ofDays(7)),
+        Map.entry("1month", Duration.ofDays(30))
+    );
+
+    @PostConstruct
+    public void initCaches() {
+        quoteCache = new SingleFlightCache<>(Duration.ofSeconds(quoteCacheTtlSeconds), quoteCacheMaxEntries);
+        // A series is re-synced at most once per bar, between sync-seconds and max-sync-seconds
+        INTERVALS.forEach((interval, length) -> candleSyncs.put(interval, new SingleFlightCache<>(
+            Duration.ofSeconds(Math.max(candleSyncSeconds, Math.min(length.toSeconds(), maxCandleSyncSeconds))))));
+    }
 
     public Map<String, Object> searchStocks(String symbol) {
-        requireApiKey();
-        String url = String.format("%s/symbol_search?symbol=%s&apikey=%s", BASE_URL, symbol, apiKey);
-        log.info("Searching stocks with URL: {}", url);
-        
         try {
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            validateTwelveDataResponse(response);
-            log.info("Search response: {}", response);
-            return response;
+            return call("symbol_search", null, RequestPriority.INTERACTIVE, 1, () -> client.symbolSearch(symbol));
+        } catch (ProviderBudgetExceededException | ProviderUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error searching stocks: ", e);
             throw new RuntimeException("Failed to search stocks", e);
         }
     }
 
-    public Map<String, Object> getStockData(String symbol, String interval) {
-        requireApiKey();
-        String url = String.format("%s/time_series?symbol=%s&interval=%s&apikey=%s", 
-            BASE_URL, symbol, interval, apiKey);
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-        validateTwelveDataResponse(response);
+    /**
+     * Full listing of common stocks for one country, used to build the local symbol
+     * catalog. This is a large response, so it is only fetched on the catalog's
+     * refresh cadence and at background priority.
+     */
+    public List<SymbolIndex.ListedSymbol> listSymbols(String country) {
+        return call("stocks", null, RequestPriority.BACKGROUND, 1, () -> client.stocks(country));
+    }
+
+    /**
+     * Returns the most recent {@code outputSize} bars in TwelveData's time_series shape.
+     * Bars are served from the local candle store; the provider is only asked for
+     * bars after the newest stored one, at most once per bar (see {@code initCaches}),
+     * or for the whole window when the store holds fewer bars than requested. When
+     * {@code points} is positive and smaller than the window, the series is
+     * downsampled with LTTB on closing prices.
+     */
+    public Map<String, Object> getStockData(String symbol, String interval, int outputSize, int points) {
+        String normalizedSymbol = symbol.trim().toUpperCase(Locale.ROOT);
+        CandleWindow window = loadCandles(normalizedSymbol, interval, outputSize);
+        List<Candle> candles = window.candles();
+        int[] keep = downsample(candles, points);
+
+        boolean dateOnly = INTERVALS.get(interval).compareTo(Duration.ofDays(1)) >= 0;
+        List<Map<String, Object>> values = new ArrayList<>(keep.length);
+        // Candles come newest first; keep that order in the response
+        for (int i = keep.length - 1; i >= 0; i--) {
+            Candle candle = candles.get(candles.size() - 1 - keep[i]);
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("datetime", dateOnly
+                ? candle.getBarTime().toLocalDate().toString()
+                : candle.getBarTime().format(DATE_TIME_FORMAT));
+            value.put("open", candle.getOpen());
+            value.put("high", candle.getHigh());
+            value.put("low", candle.getLow());
+            value.put("close", candle.getClose());
+            value.put("volume", candle.getVolume());
+            values.add(value);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("meta", Map.of("symbol", normalizedSymbol, "interval", interval));
+        response.put("values", values);
+        response.put("status", "ok");
+        if (window.stale()) {
+            response.put("stale", true);
+        }
         return response;
     }
 
-    public Map<String, Object> getQuote(String symbol) {
-        requireApiKey();
-        String url = String.format("%s/quote?symbol=%s&apikey=%s", BASE_URL, symbol, apiKey);
-        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-        validateTwelveDataResponse(response);
+    /**
+     * Compact closing-price series for sparklines: parallel arrays of epoch seconds
+     * and closes, oldest first, downsampled to at most {@code points} entries.
+     */
+    public Map<String, Object> getSparkline(String symbol, String interval, int window, int points) {
+        String normalizedSymbol = symbol.trim().toUpperCase(Locale.ROOT);
+        CandleWindow stored = loadCandles(normalizedSymbol, interval, window);
+        List<Candle> candles = stored.candles();
+        int[] keep = downsample(candles, points);
+
+        long[] times = new long[keep.length];
+        double[] closes = new double[keep.length];
+        for (int i = 0; i < keep.length; i++) {
+            Candle candle = candles.get(candles.size() - 1 - keep[i]);
+            times[i] = candle.getBarTime().toEpochSecond(ZoneOffset.UTC);
+            closes[i] = candle.getClose();
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("symbol", normalizedSymbol);
+        response.put("interval", interval);
+        response.put("t", times);
+        response.put("c", closes);
+        if (stored.stale()) {
+            response.put("stale", true);
+        }
         return response;
     }
 
-    private void requireApiKey() {
-        if (apiKey == null || apiKey.isBlank()) {
-            throw new RuntimeException("TwelveData API key not configured");
+    /**
+     * Newest {@code count} stored bars, newest first, after syncing the tail from the
+     * provider. If the sync fails the stored bars are still served, flagged as stale.
+     */
+    private CandleWindow loadCandles(String symbol, String interval, int count) {
+        if (!INTERVALS.containsKey(interval)) {
+            throw new RuntimeException("Unsupported interval: " + interval);
         }
+        RuntimeException syncFailure = null;
+        SingleFlightCache<String, Integer> syncs = candleSyncs.get(interval);
+        String key = symbol + ":" + interval;
+        try {
+            Integer stored = syncs.getIfFresh(key);
+            if (stored != null && stored < count) {
+                // A deeper window than the last sync stored: sync again now to backfill it
+                syncs.invalidate(key);
+            }
+            syncs.get(key, k -> syncCandles(symbol, interval, count));
+        } catch (RuntimeException e) {
+            syncFailure = e;
+        }
+
+        List<Candle> candles = candleRepository.findBySymbolAndIntervalOrderByBarTimeDesc(
+            symbol, interval, PageRequest.of(0, Math.max(1, count)));
+        if (syncFailure != null) {
+            if (candles.isEmpty()) {
+                throw syncFailure;
+            }
+            log.warn("Serving stored bars for {} {} after sync failure: {}",
+                symbol, interval, syncFailure.getMessage());
+        }
+        return new CandleWindow(candles, syncFailure != null);
     }
 
-    private void validateTwelveDataResponse(Map<String, Object> response) {
-        if (response == null) {
-            throw new RuntimeException("No response from TwelveData");
+    private record CandleWindow(List<Candle> candles, boolean stale) {
+    }
+
+    /** Indices to keep into the oldest-first view of {@code candles} (which is newest first). */
+    private static int[] downsample(List<Candle> candles, int points) {
+        int n = candles.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            Candle candle = candles.get(n - 1 - i);
+            x[i] = candle.getBarTime().toEpochSecond(ZoneOffset.UTC);
+            y[i] = candle.getClose();
         }
-        Object status = response.get("status");
-        Object code = response.get("code");
-        Object message = response.get("message");
-        if ("error".equals(status) || code != null || message != null) {
-            throw new RuntimeException(message != null ? message.toString() : "TwelveData API error");
+        return points > 0 ? Downsampler.lttb(x, y, points) : Downsampler.lttb(x, y, n);
+    }
+
+    /**
+     * Brings the stored series up to date and returns how many bars it holds, or
+     * {@link Integer#MAX_VALUE} once the provider has no older history to give.
+     * Normally only bars from the newest stored one on are fetched; when fewer than
+     * {@code count} bars are stored, the latest {@code count} are fetched instead,
+     * which backfills older history at the same one-credit cost.
+     */
+    private Integer syncCandles(String symbol, String interval, int count) {
+        long stored = candleRepository.countBySymbolAndInterval(symbol, interval);
+        int wanted = Math.max(count, initialCandles);
+        Optional<Candle> latest = stored < count
+            ? Optional.empty()
+            : candleRepository.findFirstBySymbolAndIntervalOrderByBarTimeDesc(symbol, interval);
+        // Start at the newest stored bar so a still-forming bar gets its final values
+        LocalDateTime startDate = latest.map(Candle::getBarTime).orElse(null);
+        TimeSeries series = call("time_series", null, RequestPriority.CHART, 1,
+            () -> client.timeSeries(symbol, interval, startDate, wanted));
+        saveBars(symbol, interval, series);
+        if (startDate == null && series.size() < wanted) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, candleRepository.countBySymbolAndInterval(symbol, interval));
+    }
+
+    // Upserts fetched bars by bar time
+    private void saveBars(String symbol, String interval, TimeSeries series) {
+        if (series.size() == 0) {
+            return;
+        }
+
+        List<Candle> fetched = new ArrayList<>(series.size());
+        LocalDateTime earliest = null;
+        for (int i = 0; i < series.size(); i++) {
+            LocalDateTime barTime = LocalDateTime.ofEpochSecond(series.times()[i], 0, ZoneOffset.UTC);
+            if (earliest == null || barTime.isBefore(earliest)) {
+                earliest = barTime;
+            }
+            fetched.add(Candle.builder()
+                .symbol(symbol)
+                .interval(interval)
+                .barTime(barTime)
+                .open(series.open()[i])
+                .high(series.high()[i])
+                .low(series.low()[i])
+                .close(series.close()[i])
+                .volume(series.volume()[i])
+                .build());
+        }
+
+        Map<LocalDateTime, Candle> existing = new HashMap<>();
+        for (Candle candle : candleRepository.findBySymbolAndIntervalAndBarTimeGreaterThanEqual(symbol, interval, earliest)) {
+            existing.put(candle.getBarTime(), candle);
+        }
+        for (Candle candle : fetched) {
+            Candle stored = existing.get(candle.getBarTime());
+            if (stored != null) {
+                candle.setId(stored.getId());
+            }
+        }
+        candleRepository.saveAll(fetched);
+        log.debug("Stored {} bars for {} {}", fetched.size(), symbol, interval);
+    }
+
+    public Quote getQuote(String symbol) {
+        return quoteCache.get(symbol.trim().toUpperCase(Locale.ROOT), RequestPriority.INTERACTIVE,
+            key -> fetchQuote(key, RequestPriority.INTERACTIVE));
+    }
+
+    /**
+     * Returns a quote per requested symbol, keyed by upper-cased symbol. Symbols that
+     * could not be quoted map to a TwelveData-style error object instead of failing
+     * the whole batch. Provider calls are budgeted at {@code priority}, so background
+     * refreshes are shed before interactive lookups; only loads of the same priority
+     * are joined.
+     */
+    public Map<String, Object> getQuotes(Collection<String> symbols, RequestPriority priority) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                normalized.add(symbol.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+
+        Map<String, CompletableFuture<Quote>> futures = quoteCache.getAll(normalized, priority,
+            (keys, onQuote, onError) -> fetchQuotes(keys, priority, onQuote, onError));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        futures.forEach((symbol, future) -> {
+            try {
+                result.put(symbol, future.join());
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("Quote unavailable for {}: {}", symbol, cause.getMessage());
+                result.put(symbol, Map.of(
+                    "status", "error",
+                    "message", cause.getMessage() != null ? cause.getMessage() : "Quote unavailable"
+                ));
+            }
+        });
+        return result;
+    }
+
+    private void fetchQuotes(List<String> symbols,
+                             RequestPriority priority,
+                             BiConsumer<String, Quote> onQuote,
+                             BiConsumer<String, RuntimeException> onError) {
+        for (int from = 0; from < symbols.size(); from += quoteBatchChunkSize) {
+            List<String> chunk = symbols.subList(from, Math.min(symbols.size(), from + quoteBatchChunkSize));
+            if (chunk.size() == 1) {
+                String symbol = chunk.get(0);
+                try {
+                    onQuote.accept(symbol, fetchQuote(symbol, priority));
+                } catch (RuntimeException e) {
+                    onError.accept(symbol, e);
+                }
+                continue;
+            }
+
+            Map<String, Object> response;
+            try {
+                // TwelveData charges one credit per symbol in a batch
+                response = call("quote", null, priority, chunk.size(), () -> client.quotes(chunk));
+            } catch (RuntimeException e) {
+                log.warn("Batch quote request failed for {} symbols: {}", chunk.size(), e.getMessage());
+                for (String symbol : chunk) {
+                    Optional<Quote> stale = breakers.lastKnownGood(ProviderBudgetManager.TWELVEDATA, "quote", symbol);
+                    if (stale.isPresent()) {
+                        onQuote.accept(symbol, stale.get());
+                    } else {
+                        onError.accept(symbol, e);
+                    }
+                }
+                continue;
+            }
+            for (String symbol : chunk) {
+                Object entry = response.get(symbol);
+                if (entry instanceof Quote quote) {
+                    breakers.remember(ProviderBudgetManager.TWELVEDATA, "quote", symbol, quote);
+                    onQuote.accept(symbol, quote);
+                } else if (entry instanceof RuntimeException error) {
+                    onError.accept(symbol, error);
+                } else {
+                    onError.accept(symbol, new RuntimeException("No quote returned for " + symbol));
+                }
+            }
         }
     }
+
+    /** Percentile of recent TwelveData single-quote round trips in milliseconds; 0 until enough are seen. */
+    public long quoteLatencyPercentile(int p) {
+        return quoteLatency.percentile(p);
+    }
+
+    private Quote fetchQuote(String symbol, RequestPriority priority) {
+        return call("quote", symbol, priority, 1, () -> {
+            long start = System.nanoTime();
+            try {
+                return client.quote(symbol);
+            } finally {
+                quoteLatency.record(Duration.ofNanos(System.nanoTime() - start).toMillis());
+            }
+        });
+    }
+
+    /**
+     * Budgeted, circuit-broken call to one TwelveData endpoint. Error responses are
+     * thrown by the client inside the breaker, so rate-limit and server-side errors
+     * count against the circuit and are never kept as last known good.
+     */
+    private <T> T call(String endpoint, String key, RequestPriority priority, int credits, Supplier<T> request) {
+        return breakers.call(ProviderBudgetManager.TWELVEDATA, endpoint, key, () -> {
+            budgetManager.acquire(ProviderBudgetManager.TWELVEDATA, priority, credits);
+            return request.get();
+        });
+    }
 }
@@ -0,0 +1,249 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable in-memory search index over a symbol catalog. Tickers and the words of
+ * company names are kept in sorted key arrays so a prefix lookup is a binary search
+ * plus a short scan. Results are ranked by match quality (exact ticker, ticker
+ * prefix, name prefix, near-miss) and then by popularity.
+ */
+public final class SymbolIndex {
+    private static final int EXACT = 1_000;
+    private static final int TICKER_PREFIX = 600;
+    private static final int NAME_PREFIX = 400;
+    private static final int NAME_WORD_PREFIX = 300;
+    private static final int FUZZY = 150;
+
+    private final List<ListedSymbol> entries;
+    private final String[] tickerKeys;
+    private final int[] tickerIds;
+    private final String[] wordKeys;
+    private final int[] wordIds;
+    private final String[] normalizedNames;
+
+    public SymbolIndex(List<ListedSymbol> catalog) {
+        this.entries = List.copyOf(catalog);
+        int n = entries.size();
+
+        this.normalizedNames = new String[n];
+        Integer[] byTicker = new Integer[n];
+        List<String> words = new ArrayList<>();
+        List<Integer> wordOwners = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            byTicker[i] = i;
+            String name = normalize(entries.get(i).name());
+            normalizedNames[i] = name;
+            for (String word : name.split(" ")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                    wordOwners.add(i);
+                }
+            }
+        }
+
+        String[] tickers = new String[n];
+        for (int i = 0; i < n; i++) {
+            tickers[i] = normalize(entries.get(i).symbol());
+        }
+        Arrays.sort(byTicker, Comparator.comparing(i -> tickers[i]));
+        this.tickerKeys = new String[n];
+        this.tickerIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            tickerKeys[i] = tickers[byTicker[i]];
+            tickerIds[i] = byTicker[i];
+        }
+
+        Integer[] byWord = new Integer[words.size()];
+        for (int i = 0; i < byWord.length; i++) {
+            byWord[i] = i;
+        }
+        Arrays.sort(byWord, Comparator.comparing(words::get));
+        this.wordKeys = new String[byWord.length];
+        this.wordIds = new int[byWord.length];
+        for (int i = 0; i < byWord.length; i++) {
+            wordKeys[i] = words.get(byWord[i]);
+            wordIds[i] = wordOwners.get(byWord[i]);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** Whether {@code symbol} is a listed ticker, ignoring case. */
+    public boolean contains(String symbol) {
+        return Arrays.binarySearch(tickerKeys, normalize(symbol)) >= 0;
+    }
+
+    public List<ListedSymbol> search(String query, int limit, ToIntFunction<String> popularity) {
+        String q = normalize(query);
+        if (q.isEmpty() || entries.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> scores = new HashMap<>();
+        int from = lowerBound(tickerKeys, q);
+        for (int i = from; i < tickerKeys.length && tickerKeys[i].startsWith(q); i++) {
+            int score = tickerKeys[i].length() == q.length()
+                ? EXACT
+                : TICKER_PREFIX - 10 * (tickerKeys[i].length() - q.length());
+            scores.merge(tickerIds[i], score, Math::max);
+        }
+
+        String firstWord = q.contains(" ") ? q.substring(0, q.indexOf(' ')) : q;
+        from = lowerBound(wordKeys, firstWord);
+        for (int i = from; i < wordKeys.length && wordKeys[i].startsWith(firstWord); i++) {
+            int id = wordIds[i];
+            if (normalizedNames[id].startsWith(q)) {
+                scores.merge(id, NAME_PREFIX, Math::max);
+            } else if (firstWord.equals(q) || normalizedNames[id].contains(q)) {
+                scores.merge(id, NAME_WORD_PREFIX, Math::max);
+            }
+        }
+
+        if (scores.size() < limit && q.length() >= 3) {
+            addNearMisses(q, scores);
+        }
+
+        List<Integer> ranked = new ArrayList<>(scores.keySet());
+        int[] finalScores = new int[entries.size()];
+        for (int id : ranked) {
+            String symbol = entries.get(id).symbol();
+            finalScores[id] = scores.get(id) + popularityBoost(popularity.applyAsInt(symbol));
+        }
+        ranked.sort(Comparator
+            .comparingInt((Integer id) -> -finalScores[id])
+            .thenComparingInt(id -> entries.get(id).symbol().length())
+            .thenComparing(id -> entries.get(id).symbol()));
+
+        List<ListedSymbol> results = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            results.add(entries.get(ranked.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * Typo tolerance: tickers within one edit of the query, and name words whose
+     * prefix is within one edit (two for longer queries). Only keys sharing the
+     * query's first character are scanned, which keeps this to a small slice.
+     */
+    private void addNearMisses(String q, Map<Integer, Integer> scores) {
+        int maxEdits = q.length() >= 6 ? 2 : 1;
+        String first = q.substring(0, 1);
+
+        for (int i = lowerBound(tickerKeys, first); i < tickerKeys.length && tickerKeys[i].startsWith(first); i++) {
+            String key = tickerKeys[i];
+            if (Math.abs(key.length() - q.length()) <= 1 && editDistance(key, q, 1) <= 1) {
+                scores.merge(tickerIds[i], FUZZY + 50, Math::max);
+            }
+        }
+        for (int i = lowerBound(wordKeys, first); i < wordKeys.length && wordKeys[i].startsWith(first); i++) {
+            String key = wordKeys[i];
+            if (key.length() + maxEdits < q.length()) {
+                continue;
+            }
+            String prefix = key.substring(0, Math.min(key.length(), q.length()));
+            int distance = editDistance(prefix, q, maxEdits);
+            if (distance <= maxEdits) {
+                scores.merge(wordIds[i], FUZZY - 25 * distance, Math::max);
+            }
+        }
+    }
+
+    private static int popularityBoost(int popularity) {
+        return popularity <= 0 ? 0 : (int) Math.min(200, 40 * Math.log1p(popularity));
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Optimal string alignment distance, abandoning early once it exceeds {@code max}. */
+    static int editDistance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int[] prevPrev = new int[m + 1];
+        int[] prev = new int[m + 1];
+        int[] curr = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(prev[j] + 1, curr[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, prevPrev[j - 2] + 1);
+                }
+                curr[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = prevPrev;
+            prevPrev = prev;
+            prev = curr;
+            curr = swap;
+        }
+        return prev[m];
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '.' || c == '-') {
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space && sb.length() > 0) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') {
+            sb.setLength(end - 1);
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    public record ListedSymbol(
+        String symbol,
+        String name,
+        String exchange,
+        String micCode,
+        String country,
+        String type,
+        String currency
+    ) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers symbol search from a local catalog instead of calling the provider on
+ * every keystroke. The catalog is downloaded from TwelveData on a slow cadence,
+ * persisted to disk so restarts do not need the provider, and swapped in as a
+ * fresh immutable {@link SymbolIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SymbolSearchService {
+    private static final Logger log = LoggerFactory.getLogger(SymbolSearchService.class);
+
+    private final StockService stockService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.symbols.catalog-file:./data/symbol-catalog.json}")
+    private Path catalogFile;
+
+    @Value("${app.symbols.countries:United States}")
+    private List<String> countries;
+
+    @Value("${app.symbols.refresh-hours:24}")
+    private long refreshHours;
+
+    @Value("${app.symbols.result-limit:20}")
+    private int resultLimit;
+
+    @Value("${app.top-movers.symbols:}")
+    private List<String> popularSymbols;
+
+    private volatile SymbolIndex index = new SymbolIndex(List.of());
+    private volatile Instant catalogUpdatedAt = Instant.EPOCH;
+    private final ConcurrentHashMap<String, AtomicInteger> popularity = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadPersistedCatalog() {
+        for (String symbol : popularSymbols) {
+            if (!symbol.isBlank()) {
+                popularity.computeIfAbsent(symbol.trim().toUpperCase(Locale.ROOT), k -> new AtomicInteger()).addAndGet(50);
+            }
+        }
+        if (!Files.isRegularFile(catalogFile)) {
+            return;
+        }
+        try {
+            List<SymbolIndex.ListedSymbol> catalog = objectMapper.readValue(
+                catalogFile.toFile(), new TypeReference<List<SymbolIndex.ListedSymbol>>() {});
+            index = new SymbolIndex(catalog);
+            catalogUpdatedAt = Files.getLastModifiedTime(catalogFile).toInstant();
+            log.info("Loaded {} symbols from {}", catalog.size(), catalogFile);
+        } catch (IOException e) {
+            log.warn("Could not read symbol catalog {}, it will be refetched: {}", catalogFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Checked hourly; the catalog itself is only refetched once it is older than the
+     * refresh period, or when none could be loaded at all.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.symbols.refresh-check-ms:3600000}")
+    public void refreshIfStale() {
+        if (index.size() > 0 && catalogUpdatedAt.plus(Duration.ofHours(refreshHours)).isAfter(Instant.now())) {
+            return;
+        }
+        try {
+            List<SymbolIndex.ListedSymbol> catalog = new ArrayList<>();
+            for (String country : countries) {
+                catalog.addAll(stockService.listSymbols(country.trim()));
+            }
+            if (catalog.isEmpty()) {
+                log.warn("Symbol catalog refresh returned no symbols, keeping current catalog");
+                return;
+            }
+            index = new SymbolIndex(catalog);
+            catalogUpdatedAt = Instant.now();
+            persist(catalog);
+            log.info("Refreshed symbol catalog with {} symbols", catalog.size());
+        } catch (Exception e) {
+            log.warn("Symbol catalog refresh failed, keeping current catalog: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns matches in TwelveData's symbol_search shape. Until a catalog has been
+     * loaded the query is passed through to the provider.
+     */
+    public Map<String, Object> search(String query) {
+        SymbolIndex current = index;
+        if (current.size() == 0) {
+            return stockService.searchStocks(query);
+        }
+
+        List<SymbolIndex.ListedSymbol> matches = current.search(query, resultLimit, symbol -> {
+            AtomicInteger count = popularity.get(symbol);
+            return count != null ? count.get() : 0;
+        });
+        List<Map<String, Object>> data = new ArrayList<>(matches.size());
+        for (SymbolIndex.ListedSymbol match : matches) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("symbol", match.symbol());
+            entry.put("instrument_name", match.name());
+            entry.put("exchange", match.exchange());
+            entry.put("mic_code", match.micCode());
+            entry.put("instrument_type", match.type());
+            entry.put("country", match.country());
+            entry.put("currency", match.currency());
+            data.add(entry);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", data);
+        response.put("status", "ok");
+        return response;
+    }
+
+    /**
+     * Whether {@code symbol} is in the catalog. Until a catalog has been loaded every
+     * symbol is accepted, as search falls back to the provider then too.
+     */
+    public boolean isListed(String symbol) {
+        SymbolIndex current = index;
+        return current.size() == 0 || current.contains(symbol);
+    }
+
+    /**
+     * Counts a look-up of {@code symbol} so frequently viewed names rank higher.
+     * Only catalog symbols are counted: they are the only ones search can rank, and
+     * this keeps arbitrary request paths from growing the map.
+     */
+    public void recordInterest(String symbol) {
+        if (symbol != null && !symbol.isBlank() && index.contains(symbol)) {
+            popularity.computeIfAbsent(symbol.trim().toUpperCase(Locale.ROOT), k -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    private void persist(List<SymbolIndex.ListedSymbol> catalog) {
+        try {
+            Path parent = catalogFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tmp = catalogFile.resolveSibling(catalogFile.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), catalog);
+            Files.move(tmp, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist symbol catalog to {}: {}", catalogFile, e.getMessage());
+        }
+    }
+}
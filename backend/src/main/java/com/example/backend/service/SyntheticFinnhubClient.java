@@ -0,0 +1,160 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BasicFinancials;
+import com.example.backend.dto.CompanyProfile;
+import com.example.backend.dto.FinnhubQuote;
+import com.example.backend.dto.NewsItem;
+import com.example.backend.dto.Quote;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Offline stand-in for Finnhub, active with the {@code synthetic} profile. Quotes,
+ * market caps and 52-week ranges come from the same price paths as
+ * {@link SyntheticMarketData}; the rest of a profile or metric document is a
+ * stable function of the symbol.
+ */
+@Component
+@Profile("synthetic")
+public class SyntheticFinnhubClient implements FinnhubClient {
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final String[] INDUSTRIES = {
+        "Technology", "Semiconductors", "Banking", "Insurance", "Retail", "Pharmaceuticals", "Biotechnology",
+        "Energy", "Utilities", "Media", "Aerospace & Defense", "Consumer products", "Real Estate"
+    };
+    private static final String[] HEADLINES = {
+        "%s shares move as traders weigh quarterly outlook",
+        "Analysts revisit price targets on %s",
+        "%s announces expansion of its product line",
+        "What the latest guidance means for %s investors",
+        "%s draws attention after unusual options activity",
+        "%s management outlines capital return plans"
+    };
+
+    private final SyntheticMarketData market;
+
+    public SyntheticFinnhubClient(SyntheticMarketData market) {
+        this.market = market;
+    }
+
+    @Override
+    public List<NewsItem> marketNews() {
+        market.simulateCall();
+        long now = market.clock().instant().getEpochSecond();
+        List<SymbolIndex.ListedSymbol> universe = market.universe();
+        List<NewsItem> items = new ArrayList<>();
+        // One general headline per hour over the last day, each about some listed company
+        for (long hour = now / 3600; hour > now / 3600 - 24; hour--) {
+            int pick = (int) (market.unit(0, SyntheticMarketData.NEWS, hour) * universe.size());
+            items.add(newsItem("general", universe.get(pick).symbol(), hour * 3600));
+        }
+        return items;
+    }
+
+    @Override
+    public List<NewsItem> companyNews(String symbol, LocalDate from, LocalDate to) {
+        market.simulateCall();
+        String normalized = symbol.trim().toUpperCase(Locale.ROOT);
+        long now = market.clock().instant().getEpochSecond();
+        List<NewsItem> items = new ArrayList<>();
+        for (LocalDate day = to; !day.isBefore(from); day = day.minusDays(1)) {
+            for (long hour : new long[] {15, 9}) {
+                long time = day.toEpochDay() * SECONDS_PER_DAY + hour * 3600;
+                if (time <= now) {
+                    items.add(newsItem("company", normalized, time));
+                }
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public CompanyProfile profile(String symbol) {
+        market.simulateCall();
+        String normalized = symbol.trim().toUpperCase(Locale.ROOT);
+        long key = normalized.hashCode();
+        SymbolIndex.ListedSymbol listed = market.listing(normalized);
+        double shares = sharesOutstanding(key);
+        double price = market.path(normalized).priceAt(market.clock().instant().getEpochSecond());
+        LocalDate ipo = LocalDate.of(1980, 1, 1)
+            .plusDays((long) (trait(key, 30) * 40 * 365));
+        return new CompanyProfile(normalized, listed.name(), listed.exchange(), "US", listed.currency(),
+            INDUSTRIES[(int) (trait(key, 31) * INDUSTRIES.length)],
+            "https://" + normalized.toLowerCase(Locale.ROOT) + ".example.com", "", ipo.toString(),
+            round(price * shares), shares, false);
+    }
+
+    @Override
+    public BasicFinancials metrics(String symbol) {
+        market.simulateCall();
+        String normalized = symbol.trim().toUpperCase(Locale.ROOT);
+        long key = normalized.hashCode();
+        SyntheticMarketData.Path path = market.path(normalized);
+        long now = market.clock().instant().getEpochSecond();
+        double price = path.priceAt(now);
+        double yearHigh = price;
+        double yearLow = price;
+        long today = Math.floorDiv(now, SECONDS_PER_DAY);
+        for (long day = today - 364; day <= today; day++) {
+            double close = Math.exp(path.logAtDayStart(day));
+            yearHigh = Math.max(yearHigh, close);
+            yearLow = Math.min(yearLow, close);
+        }
+        double eps = price / (8 + 32 * trait(key, 40));
+
+        Map<String, Double> metric = new LinkedHashMap<>();
+        metric.put("marketCapitalization", round(price * sharesOutstanding(key)));
+        metric.put("peBasicExclExtraTTM", round(price / eps));
+        metric.put("epsTTM", round(eps));
+        metric.put("dividendYieldIndicatedAnnual", round(4 * trait(key, 41)));
+        metric.put("beta", round(0.4 + 1.4 * trait(key, 42)));
+        metric.put("bookValuePerShareAnnual",
+            round(price / (1 + 9 * trait(key, 43))));
+        metric.put("netMarginTTM", round(0.02 + 0.28 * trait(key, 44)));
+        metric.put("operatingMarginTTM", round(0.05 + 0.35 * trait(key, 45)));
+        metric.put("roeTTM", round(0.03 + 0.37 * trait(key, 46)));
+        metric.put("52WeekHigh", round(yearHigh));
+        metric.put("52WeekLow", round(yearLow));
+        return new BasicFinancials(normalized, metric, false);
+    }
+
+    @Override
+    public FinnhubQuote quote(String symbol) {
+        market.simulateCall();
+        Quote quote = market.snapshot(symbol.trim().toUpperCase(Locale.ROOT));
+        return new FinnhubQuote(quote.getClose(), quote.getChange(), quote.getPercentChange(), quote.getHigh(),
+            quote.getLow(), quote.getOpen(), quote.getPreviousClose(), quote.getTimestamp(), false);
+    }
+
+    // A fixed per-symbol value in [0, 1)
+    private double trait(long key, int index) {
+        return market.unit(key, SyntheticMarketData.PROFILE, index);
+    }
+
+    private static double round(double value) {
+        return SyntheticMarketData.round(value);
+    }
+
+    // Shares outstanding in millions, as Finnhub reports them
+    private double sharesOutstanding(long key) {
+        return round(50 + 5000 * Math.pow(trait(key, 32), 2));
+    }
+
+    private NewsItem newsItem(String category, String symbol, long time) {
+        long key = symbol.hashCode();
+        long id = market.hash(key, SyntheticMarketData.NEWS, time) >>> 1;
+        String name = market.listing(symbol).name();
+        String headline = String.format(
+            HEADLINES[(int) (market.unit(key, SyntheticMarketData.NEWS, time) * HEADLINES.length)], name);
+        return new NewsItem(id, category, time, headline, "", symbol, "Synthetic Wire",
+            "Generated article about " + name + " (" + symbol + ") for offline testing.",
+            "https://news.example.com/" + symbol.toLowerCase(Locale.ROOT) + "/" + id);
+    }
+}
@@ -0,0 +1,463 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.Quote;
+import com.example.backend.dto.TimeSeries;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Offline stand-in for TwelveData, active with the {@code synthetic} profile, and
+ * the price source for {@link SyntheticFinnhubClient}. Every symbol follows a
+ * geometric Brownian motion that is a pure function of the seed, the symbol and
+ * the clock, so quotes and candles of any interval are reproducible and agree with
+ * each other. The synthetic market trades around the clock.
+ * <p>
+ * The path has two levels: a daily random walk of log prices from a fixed anchor
+ * date, and a per-minute Brownian bridge between consecutive daily points.
+ * Intraday bars read the minute path; daily, weekly and monthly bars read the daily
+ * walk. Latency and failures can be injected into every call to exercise timeouts,
+ * hedging and the circuit breakers without a real provider.
+ */
+@Component
+@Profile("synthetic")
+public class SyntheticMarketData implements TwelveDataClient {
+    private static final long ANCHOR_DAY = LocalDate.of(2024, 1, 1).toEpochDay();
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final int MAX_BARS = 5000;
+
+    // Noise streams, so one index never feeds two different quantities
+    static final long DAILY = 1;
+    static final long MINUTE = 2;
+    static final long WICK = 3;
+    static final long VOLUME = 4;
+    static final long PROFILE = 5;
+    static final long NEWS = 6;
+
+    private static final Map<String, Long> INTRADAY_SECONDS = Map.of(
+        "1min", 60L, "5min", 300L, "15min", 900L, "30min", 1800L, "45min", 2700L,
+        "1h", 3600L, "2h", 7200L, "4h", 14_400L, "8h", 28_800L, "1day", SECONDS_PER_DAY);
+    private static final String[] NAME_WORDS = {
+        "Apex", "Blue", "Cedar", "Delta", "Ember", "Falcon", "Granite", "Harbor", "Iron", "Juniper",
+        "Keystone", "Lumen", "Meridian", "Northern", "Orchid", "Pioneer", "Quantum", "Redwood", "Summit",
+        "Titan", "Unity", "Vertex", "Willow", "Zenith"
+    };
+    private static final String[] NAME_SUFFIXES = {"Inc", "Corp", "Holdings", "Group", "Technologies", "Systems"};
+
+    private final long seed;
+    private final double drift;
+    private final double volatility;
+    private final Clock clock;
+    private final List<SymbolIndex.ListedSymbol> universe;
+    private final Map<String, SymbolIndex.ListedSymbol> listings = new HashMap<>();
+
+    @Value("${app.synthetic.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${app.synthetic.latency-jitter-ms:0}")
+    private long latencyJitterMs;
+
+    @Value("${app.synthetic.error-rate:0}")
+    private double errorRate;
+
+    @Autowired
+    public SyntheticMarketData(@Value("${app.synthetic.seed:42}") long seed,
+                               @Value("${app.synthetic.drift:0.07}") double drift,
+                               @Value("${app.synthetic.volatility:0.3}") double volatility,
+                               @Value("${app.synthetic.universe-size:500}") int universeSize,
+                               @Value("${app.top-movers.symbols:}") List<String> wellKnown) {
+        this(seed, drift, volatility, universeSize, wellKnown, Clock.systemUTC());
+    }
+
+    SyntheticMarketData(long seed, double drift, double volatility, int universeSize,
+                        List<String> wellKnown, Clock clock) {
+        this.seed = seed;
+        this.drift = drift;
+        this.volatility = volatility;
+        this.clock = clock;
+        this.universe = buildUniverse(universeSize, wellKnown);
+        for (SymbolIndex.ListedSymbol listed : universe) {
+            listings.put(listed.symbol(), listed);
+        }
+    }
+
+    @Override
+    public Map<String, Object> symbolSearch(String query) {
+        simulateCall();
+        String needle = query.trim().toUpperCase(Locale.ROOT);
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (SymbolIndex.ListedSymbol listed : universe) {
+            if (data.size() == 30) {
+                break;
+            }
+            if (listed.symbol().startsWith(needle) || listed.name().toUpperCase(Locale.ROOT).contains(needle)) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("symbol", listed.symbol());
+                entry.put("instrument_name", listed.name());
+                entry.put("exchange", listed.exchange());
+                entry.put("mic_code", listed.micCode());
+                entry.put("instrument_type", listed.type());
+                entry.put("country", listed.country());
+                entry.put("currency", listed.currency());
+                data.add(entry);
+            }
+        }
+        return Map.of("data", data, "status", "ok");
+    }
+
+    @Override
+    public List<SymbolIndex.ListedSymbol> stocks(String country) {
+        simulateCall();
+        return universe.stream().filter(listed -> listed.country().equalsIgnoreCase(country)).toList();
+    }
+
+    @Override
+    public TimeSeries timeSeries(String symbol, String interval, LocalDateTime startDate, int outputSize) {
+        simulateCall();
+        long now = clock.instant().getEpochSecond();
+        Long from = startDate != null ? startDate.toEpochSecond(ZoneOffset.UTC) : null;
+        int limit = from != null ? MAX_BARS : Math.min(outputSize, MAX_BARS);
+        Path path = path(symbol.trim().toUpperCase(Locale.ROOT));
+
+        long[] times = new long[limit];
+        double[] open = new double[limit];
+        double[] high = new double[limit];
+        double[] low = new double[limit];
+        double[] close = new double[limit];
+        long[] volume = new long[limit];
+        int size = 0;
+        // Newest first, as TwelveData returns them
+        long start = barStart(interval, now);
+        while (size < limit && (from == null || start >= from)) {
+            long barEnd = Math.min(nextBarStart(interval, start), now);
+            double[] ohlc = path.bar(start, barEnd);
+            times[size] = start;
+            open[size] = ohlc[0];
+            high[size] = ohlc[1];
+            low[size] = ohlc[2];
+            close[size] = ohlc[3];
+            volume[size] = path.volume(start, barEnd);
+            size++;
+            start = previousBarStart(interval, start);
+        }
+        if (size < limit) {
+            return new TimeSeries(size, Arrays.copyOf(times, size), Arrays.copyOf(open, size),
+                Arrays.copyOf(high, size), Arrays.copyOf(low, size), Arrays.copyOf(close, size),
+                Arrays.copyOf(volume, size));
+        }
+        return new TimeSeries(size, times, open, high, low, close, volume);
+    }
+
+    @Override
+    public Quote quote(String symbol) {
+        simulateCall();
+        return snapshot(symbol.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public Map<String, Object> quotes(List<String> symbols) {
+        simulateCall();
+        Map<String, Object> quotes = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            quotes.put(symbol, snapshot(symbol.trim().toUpperCase(Locale.ROOT)));
+        }
+        return quotes;
+    }
+
+    /** The current quote for an upper-cased symbol, without simulated latency or errors. */
+    Quote snapshot(String symbol) {
+        Path path = path(symbol);
+        long now = clock.instant().getEpochSecond();
+        long dayStart = Math.floorDiv(now, SECONDS_PER_DAY) * SECONDS_PER_DAY;
+        double[] today = path.bar(dayStart, now);
+        // Round-the-clock market: the previous close is today's open
+        double previousClose = today[0];
+        double change = today[3] - previousClose;
+        SymbolIndex.ListedSymbol listed = listing(symbol);
+        return Quote.builder()
+            .symbol(symbol)
+            .name(listed.name())
+            .exchange(listed.exchange())
+            .currency(listed.currency())
+            .open(today[0])
+            .high(today[1])
+            .low(today[2])
+            .close(today[3])
+            .previousClose(previousClose)
+            .change(round(change))
+            .percentChange(round(change / previousClose * 100))
+            .volume(path.volume(dayStart, now))
+            .timestamp(now)
+            .marketOpen(true)
+            .source(ProviderBudgetManager.TWELVEDATA)
+            .build();
+    }
+
+    /** Listed symbols first; any other symbol still gets a stable made-up listing. */
+    SymbolIndex.ListedSymbol listing(String symbol) {
+        SymbolIndex.ListedSymbol listed = listings.get(symbol);
+        return listed != null ? listed : newListing(symbol);
+    }
+
+    List<SymbolIndex.ListedSymbol> universe() {
+        return universe;
+    }
+
+    Clock clock() {
+        return clock;
+    }
+
+    Path path(String symbol) {
+        return new Path(symbol.hashCode());
+    }
+
+    /** Sleeps for the configured latency, then fails at the configured error rate. */
+    void simulateCall() {
+        long delay = latencyMs + (latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProviderUnavailableException("Synthetic provider call interrupted");
+            }
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new ProviderUnavailableException("Synthetic provider error (injected)");
+        }
+    }
+
+    long hash(long key, long stream, long index) {
+        return mix(mix(mix(seed ^ key) + stream * 0x9E3779B97F4A7C15L) + index);
+    }
+
+    /** Uniform in [0, 1). */
+    double unit(long key, long stream, long index) {
+        return (hash(key, stream, index) >>> 11) * 0x1.0p-53;
+    }
+
+    /** Standard normal (Box-Muller). */
+    double gaussian(long key, long stream, long index) {
+        long h = hash(key, stream, index);
+        double u1 = ((h >>> 11) + 1) * 0x1.0p-53;
+        double u2 = (mix(h) >>> 11) * 0x1.0p-53;
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static double round(double value) {
+        return Math.round(value * 10_000) / 10_000.0;
+    }
+
+    private static long barStart(String interval, long time) {
+        Long seconds = INTRADAY_SECONDS.get(interval);
+        if (seconds != null) {
+            return Math.floorDiv(time, seconds) * seconds;
+        }
+        LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(time, SECONDS_PER_DAY));
+        return switch (interval) {
+            case "1week" -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay() * SECONDS_PER_DAY;
+            case "1month" -> day.withDayOfMonth(1).toEpochDay() * SECONDS_PER_DAY;
+            default -> throw new RuntimeException("Unsupported interval: " + interval);
+        };
+    }
+
+    private static long nextBarStart(String interval, long start) {
+        Long seconds = INTRADAY_SECONDS.get(interval);
+        if (seconds != null) {
+            return start + seconds;
+        }
+        LocalDate day = LocalDate.ofEpochDay(start / SECONDS_PER_DAY);
+        LocalDate next = "1week".equals(interval) ? day.plusWeeks(1) : day.plusMonths(1);
+        return next.toEpochDay() * SECONDS_PER_DAY;
+    }
+
+    private static long previousBarStart(String interval, long start) {
+        Long seconds = INTRADAY_SECONDS.get(interval);
+        if (seconds != null) {
+            return start - seconds;
+        }
+        LocalDate day = LocalDate.ofEpochDay(start / SECONDS_PER_DAY);
+        LocalDate previous = "1week".equals(interval) ? day.minusWeeks(1) : day.minusMonths(1);
+        return previous.toEpochDay() * SECONDS_PER_DAY;
+    }
+
+    private List<SymbolIndex.ListedSymbol> buildUniverse(int size, List<String> wellKnown) {
+        Set<String> symbols = new LinkedHashSet<>();
+        for (String symbol : wellKnown) {
+            if (symbol != null && !symbol.isBlank()) {
+                symbols.add(symbol.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        for (long i = 0; symbols.size() < size && i < size * 4L; i++) {
+            int length = 3 + (int) (unit(i, PROFILE, 100) * 2);
+            char[] ticker = new char[length];
+            for (int c = 0; c < length; c++) {
+                ticker[c] = (char) ('A' + (int) (unit(i, PROFILE, 101 + c) * 26));
+            }
+            symbols.add(new String(ticker));
+        }
+        List<SymbolIndex.ListedSymbol> listed = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            listed.add(newListing(symbol));
+        }
+        return List.copyOf(listed);
+    }
+
+    private SymbolIndex.ListedSymbol newListing(String symbol) {
+        long key = symbol.hashCode();
+        String name = NAME_WORDS[(int) (unit(key, PROFILE, 20) * NAME_WORDS.length)] + " "
+            + NAME_WORDS[(int) (unit(key, PROFILE, 21) * NAME_WORDS.length)] + " "
+            + NAME_SUFFIXES[(int) (unit(key, PROFILE, 22) * NAME_SUFFIXES.length)];
+        boolean nasdaq = unit(key, PROFILE, 23) < 0.6;
+        return new SymbolIndex.ListedSymbol(symbol, name, nasdaq ? "NASDAQ" : "NYSE", nasdaq ? "XNGS" : "XNYS",
+            "United States", "Common Stock", "USD");
+    }
+
+    /**
+     * One symbol's price path. Daily points and minute paths are memoized for the
+     * lifetime of the instance, which is a single provider call.
+     */
+    final class Path {
+        private final long key;
+        private final double logStart;
+        private final double dayDrift;
+        private final double daySigma;
+        private final double minuteSigma;
+        private final Map<Long, double[]> minutePaths = new HashMap<>();
+        private long walkOrigin;
+        private double[] walk;
+
+        private Path(long key) {
+            this.key = key;
+            this.logStart = Math.log(10) + unit(key, PROFILE, 0) * Math.log(50);
+            double sigma = volatility * (0.6 + 0.8 * unit(key, PROFILE, 1));
+            this.dayDrift = (drift - sigma * sigma / 2) / 365;
+            this.daySigma = sigma / Math.sqrt(365);
+            this.minuteSigma = daySigma / Math.sqrt(MINUTES_PER_DAY);
+        }
+
+        double priceAt(long time) {
+            return round(Math.exp(logAt(time)));
+        }
+
+        /** Log price at 00:00 UTC of {@code day} (days since 1970-01-01). */
+        double logAtDayStart(long day) {
+            if (walk == null || day < walkOrigin || day >= walkOrigin + walk.length) {
+                extendWalk(day);
+            }
+            return walk[(int) (day - walkOrigin)];
+        }
+
+        /** Open, high, low and close, in that order, over {@code [start, end]}. */
+        double[] bar(long start, long end) {
+            double open = logAt(start);
+            double close = logAt(end);
+            double high = Math.max(open, close);
+            double low = Math.min(open, close);
+            double wickSigma;
+            if (end - start < SECONDS_PER_DAY) {
+                // Intraday extremes come from the minute path
+                for (long t = (start / 60 + 1) * 60; t < end; t += 60) {
+                    double value = logAt(t);
+                    high = Math.max(high, value);
+                    low = Math.min(low, value);
+                }
+                wickSigma = minuteSigma;
+            } else {
+                for (long day = start / SECONDS_PER_DAY + 1; day * SECONDS_PER_DAY < end; day++) {
+                    double value = logAtDayStart(day);
+                    high = Math.max(high, value);
+                    low = Math.min(low, value);
+                }
+                wickSigma = daySigma;
+            }
+            // Trading between sample points reaches a little past them
+            high += Math.abs(gaussian(key, WICK, 2 * start)) * wickSigma * 0.5;
+            low -= Math.abs(gaussian(key, WICK, 2 * start + 1)) * wickSigma * 0.5;
+            return new double[] {
+                round(Math.exp(open)), round(Math.exp(high)), round(Math.exp(low)), round(Math.exp(close))
+            };
+        }
+
+        long volume(long start, long end) {
+            double perDay = 1_000_000 * (0.2 + 5 * unit(key, VOLUME, 0));
+            return (long) (perDay * (end - start) / SECONDS_PER_DAY * (0.5 + unit(key, VOLUME, start)));
+        }
+
+        private double logAt(long time) {
+            long day = Math.floorDiv(time, SECONDS_PER_DAY);
+            long second = time - day * SECONDS_PER_DAY;
+            if (second == 0) {
+                return logAtDayStart(day);
+            }
+            double[] minutes = minutePath(day);
+            int minute = (int) (second / 60);
+            double fraction = (second % 60) / 60.0;
+            return minutes[minute] + fraction * (minutes[minute + 1] - minutes[minute]);
+        }
+
+        // Brownian bridge through the day's minutes, pinned to the daily walk at both ends
+        private double[] minutePath(long day) {
+            double[] path = minutePaths.get(day);
+            if (path != null) {
+                return path;
+            }
+            path = new double[MINUTES_PER_DAY + 1];
+            for (int m = 1; m <= MINUTES_PER_DAY; m++) {
+                path[m] = path[m - 1] + gaussian(key, MINUTE, day * MINUTES_PER_DAY + m - 1);
+            }
+            double from = logAtDayStart(day);
+            double to = logAtDayStart(day + 1);
+            double total = path[MINUTES_PER_DAY];
+            for (int m = 0; m <= MINUTES_PER_DAY; m++) {
+                double t = (double) m / MINUTES_PER_DAY;
+                path[m] = from + t * (to - from) + minuteSigma * (path[m] - t * total);
+            }
+            minutePaths.put(day, path);
+            return path;
+        }
+
+        // Step d moves the walk from day d to day d + 1, both forwards and backwards from the anchor
+        private void extendWalk(long day) {
+            long lo = Math.min(day, walk == null ? ANCHOR_DAY : Math.min(walkOrigin, ANCHOR_DAY));
+            long hi = Math.max(day, walk == null ? ANCHOR_DAY : Math.max(walkOrigin + walk.length - 1, ANCHOR_DAY));
+            double[] extended = new double[(int) (hi - lo + 1)];
+            int anchor = (int) (ANCHOR_DAY - lo);
+            extended[anchor] = logStart;
+            for (int i = anchor + 1; i < extended.length; i++) {
+                extended[i] = extended[i - 1] + dayDrift + daySigma * gaussian(key, DAILY, lo + i - 1);
+            }
+            for (int i = anchor - 1; i >= 0; i--) {
+                extended[i] = extended[i + 1] - dayDrift - daySigma * gaussian(key, DAILY, lo + i);
+            }
+            walkOrigin = lo;
+            walk = extended;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.Quote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Service
+public class TopMoversService {
+    private static final Logger log = LoggerFactory.getLogger(TopMoversService.class);
+
+    private final FinnhubService finnhubService;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${app.top-movers.symbols}")
+    private List<String> symbols;
+
+    @Value("${app.top-movers.limit:5}")
+    private int limit;
+
+    @Value("${app.top-movers.call-timeout-ms:2000}")
+    private long callTimeoutMs;
+
+    @Value("${app.top-movers.deadline-ms:4000}")
+    private long deadlineMs;
+
+    public TopMoversService(FinnhubService finnhubService,
+                            @Qualifier("marketDataExecutor") ThreadPoolTaskExecutor executor) {
+        this.finnhubService = finnhubService;
+        this.executor = executor;
+    }
+
+    /**
+     * Quotes the configured universe concurrently and returns the top gainers and
+     * losers. Symbols that fail, time out or miss the overall deadline are skipped.
+     */
+    public Map<String, Object> computeTopMovers() {
+        Map<String, CompletableFuture<Map<String, Object>>> pending = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            try {
+                pending.put(symbol, submit(symbol));
+            } catch (RejectedExecutionException e) {
+                log.warn("Skipping symbol {}: market data executor is saturated", symbol);
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(pending.values().toArray(new CompletableFuture<?>[0]))
+                    .get(deadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Top movers deadline of {} ms reached, using partial results", deadlineMs);
+        } catch (ExecutionException e) {
+            // Individual failures are handled per symbol below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Map<String, Object>> quotes = new ArrayList<>();
+        pending.forEach((symbol, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                quotes.add(future.join());
+            } else if (future.isDone()) {
+                log.warn("Skipping symbol {} due to quote error: {}", symbol, failureMessage(future));
+            } else {
+                future.cancel(true);
+                log.warn("Skipping symbol {}: no quote before deadline", symbol);
+            }
+        });
+
+        return rank(quotes, limit);
+    }
+
+    /**
+     * Quotes one symbol on the executor. The per-call timeout starts when the call
+     * does, so time spent queued behind other calls does not use it up; the overall
+     * deadline still bounds the wait for queued calls.
+     */
+    private CompletableFuture<Map<String, Object>> submit(String symbol) {
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (result.isDone()) {
+                // Cancelled at the deadline while still queued
+                return;
+            }
+            result.orTimeout(callTimeoutMs, TimeUnit.MILLISECONDS);
+            try {
+                result.complete(toMover(symbol));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Top gainers and losers by percent change. Sorts {@code quotes} in place;
+     * an empty input gives an empty map.
+     */
+    static Map<String, Object> rank(List<Map<String, Object>> quotes, int limit) {
+        if (quotes.isEmpty()) {
+            return Map.of();
+        }
+
+        quotes.sort(Comparator.comparingDouble(o -> (double) o.get("change_percentage")));
+        List<Map<String, Object>> topLosers = quotes.stream().limit(limit).collect(Collectors.toList());
+        List<Map<String, Object>> topGainers = quotes.stream()
+                .sorted(Comparator.comparingDouble(o -> -(double) o.get("change_percentage")))
+                .limit(limit)
+                .collect(Collectors.toList());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("top_gainers", topGainers);
+        response.put("top_losers", topLosers);
+        return response;
+    }
+
+    private Map<String, Object> toMover(String symbol) {
+        Quote quote = QuoteService.fromFinnhub(symbol, finnhubService.getQuote(symbol, RequestPriority.BACKGROUND));
+        return Map.of(
+            "ticker", symbol,
+            "price", quote.getClose(),
+            "change_percentage", quote.getPercentChange() != null ? quote.getPercentChange() : 0.0,
+            "volume", 0
+        );
+    }
+
+    private static String failureMessage(CompletableFuture<?> future) {
+        try {
+            future.join();
+            return "";
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause instanceof TimeoutException ? "timed out" : cause.getMessage();
+        }
+    }
+}
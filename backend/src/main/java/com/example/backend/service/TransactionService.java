@@ -1,19 +1,27 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.OrderLeg;
 import com.example.backend.model.Transaction;
 import com.example.backend.model.User;
 import com.example.backend.model.Holdings;
+import com.example.backend.model.LedgerEvent;
 import com.example.backend.repository.TransactionRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.repository.HoldingsRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -21,28 +29,61 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final HoldingsService holdingsService;
+    private final LedgerService ledgerService;
+    private final AccountLocks accountLocks;
+    private final TransactionTemplate transactionTemplate;
     private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
 
-    @Transactional
+    @Value("${app.orders.batch-max-legs:50}")
+    private int batchMaxLegs;
+
+    /**
+     * Buys for the calling user. Orders for one account run one at a time, each
+     * committing before the next starts, so every balance check sees the previous
+     * order's result; orders for different accounts run in parallel.
+     */
     public Transaction buyStock(String symbol, double quantity, double price) {
-        User user = getCurrentUser();
+        return buyStock(getCurrentUser().getId(), symbol, quantity, price);
+    }
+
+    /** Buys for {@code userId} outside a request, e.g. when a resting order triggers. */
+    public Transaction buyStock(Long userId, String symbol, double quantity, double price) {
+        return accountLocks.withLock(userId,
+                () -> transactionTemplate.execute(status -> executeBuy(userId, symbol, quantity, price)));
+    }
+
+    /** Sells for the calling user, serialized per account like {@link #buyStock}. */
+    public Transaction sellStock(String symbol, double quantity, double price) {
+        return sellStock(getCurrentUser().getId(), symbol, quantity, price);
+    }
+
+    /** Sells for {@code userId} outside a request, like {@link #buyStock(Long, String, double, double)}. */
+    public Transaction sellStock(Long userId, String symbol, double quantity, double price) {
+        return accountLocks.withLock(userId,
+                () -> transactionTemplate.execute(status -> executeSell(userId, symbol, quantity, price)));
+    }
+
+    /**
+     * Rejects a trade unless quantity and price are positive and finite. Written
+     * negated so NaN fails too; a negative buy would otherwise pass the balance
+     * check and add cash.
+     */
+    static void requirePositive(String symbol, double quantity, double price) {
+        if (!(quantity > 0) || !(price > 0) || Double.isInfinite(quantity) || Double.isInfinite(price)) {
+            throw new RuntimeException("Quantity and price must be positive for " + symbol);
+        }
+    }
+
+    private Transaction executeBuy(Long userId, String symbol, double quantity, double price) {
+        requirePositive(symbol, quantity, price);
+        User user = loadUser(userId);
         double total = quantity * price;
         
         if (user.getBalance() < total) {
             throw new RuntimeException("Insufficient balance");
         }
 
-        // Update holdings first
-        Holdings holdings = holdingsService.updateHoldings(symbol, quantity, price, true);
-        log.info("Updated holdings after buy - Symbol: {}, Quantity: {}, Average Price: {}", 
-                symbol, holdings.getQuantity(), holdings.getAveragePrice());
-
-        // Update user balance
-        user.setBalance(user.getBalance() - total);
-        userRepository.save(user);
-
-        // Create transaction record
-        Transaction transaction = Transaction.builder()
+        Transaction transaction = transactionRepository.save(Transaction.builder()
                 .user(user)
                 .stockSymbol(symbol)
                 .quantity(quantity)
@@ -50,17 +91,23 @@ public class TransactionService {
                 .type("BUY")
                 .timestamp(LocalDateTime.now())
                 .total(total)
-                .build();
+                .build());
 
-        return transactionRepository.save(transaction);
+        // The ledger event updates the balance and the position
+        Map<String, Holdings> positions = holdingsService.getPositions(user, List.of(symbol));
+        ledgerService.record(user, positions, List.of(LedgerEvent.trade(transaction)));
+        Holdings holdings = positions.get(symbol);
+        log.info("Updated holdings after buy - Symbol: {}, Quantity: {}, Average Price: {}", 
+                symbol, holdings.getQuantity(), holdings.getAveragePrice());
+        return transaction;
     }
 
-    @Transactional
-    public Transaction sellStock(String symbol, double quantity, double price) {
-        User user = getCurrentUser();
-        Holdings currentHoldings = holdingsService.getHoldingsBySymbol(symbol);
+    private Transaction executeSell(Long userId, String symbol, double quantity, double price) {
+        requirePositive(symbol, quantity, price);
+        User user = loadUser(userId);
+        Map<String, Holdings> positions = holdingsService.getPositions(user, List.of(symbol));
         
-        if (currentHoldings.getQuantity() < quantity) {
+        if (positions.get(symbol).getQuantity() < quantity) {
             throw new RuntimeException("Insufficient stocks to sell");
         }
 
@@ -68,17 +115,7 @@ public class TransactionService {
         double brokerage = total * 0.03;
         double netTotal = total - brokerage;
 
-        // Update holdings first
-        Holdings holdings = holdingsService.updateHoldings(symbol, quantity, price, false);
-        log.info("Updated holdings after sell - Symbol: {}, Quantity: {}, Average Price: {}", 
-                symbol, holdings.getQuantity(), holdings.getAveragePrice());
-
-        // Update user balance
-        user.setBalance(user.getBalance() + netTotal);
-        userRepository.save(user);
-
-        // Create transaction record
-        Transaction transaction = Transaction.builder()
+        Transaction transaction = transactionRepository.save(Transaction.builder()
                 .user(user)
                 .stockSymbol(symbol)
                 .quantity(quantity)
@@ -86,9 +123,85 @@ public class TransactionService {
                 .type("SELL")
                 .timestamp(LocalDateTime.now())
                 .total(netTotal)
-                .build();
+                .build());
+
+        ledgerService.record(user, positions, List.of(LedgerEvent.trade(transaction)));
+        Holdings holdings = positions.get(symbol);
+        log.info("Updated holdings after sell - Symbol: {}, Quantity: {}, Average Price: {}", 
+                symbol, holdings.getQuantity(), holdings.getAveragePrice());
+        return transaction;
+    }
+
+    /**
+     * Executes {@code legs} in order as one all-or-nothing unit for the calling user:
+     * a leg that fails its balance or holdings check rolls back the whole batch. The
+     * user and the touched positions are read once and written once, and the
+     * transaction rows go out as a JDBC batch.
+     */
+    public List<Transaction> executeBatch(List<OrderLeg> legs) {
+        if (legs == null || legs.isEmpty()) {
+            throw new RuntimeException("Batch has no legs");
+        }
+        if (legs.size() > batchMaxLegs) {
+            throw new RuntimeException("Batch has more than " + batchMaxLegs + " legs");
+        }
+        Long userId = getCurrentUser().getId();
+        return accountLocks.withLock(userId,
+                () -> transactionTemplate.execute(status -> executeLegs(userId, legs)));
+    }
+
+    private List<Transaction> executeLegs(Long userId, List<OrderLeg> legs) {
+        for (OrderLeg leg : legs) {
+            requirePositive(leg.symbol(), leg.quantity(), leg.price());
+        }
+        User user = loadUser(userId);
+        Set<String> symbols = new LinkedHashSet<>();
+        for (OrderLeg leg : legs) {
+            symbols.add(leg.symbol());
+        }
+        Map<String, Holdings> positions = holdingsService.getPositions(user, symbols);
 
-        return transactionRepository.save(transaction);
+        // Check every leg against the running balance and quantities before anything is written
+        double balance = user.getBalance();
+        Map<String, Double> held = new HashMap<>();
+        positions.forEach((symbol, position) -> held.put(symbol, position.getQuantity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(legs.size());
+        for (OrderLeg leg : legs) {
+            double total = leg.quantity() * leg.price();
+            if (leg.buy()) {
+                if (balance < total) {
+                    throw new RuntimeException("Insufficient balance for " + leg.symbol());
+                }
+                balance -= total;
+                held.merge(leg.symbol(), leg.quantity(), Double::sum);
+            } else {
+                if (held.get(leg.symbol()) < leg.quantity()) {
+                    throw new RuntimeException("Insufficient stocks to sell for " + leg.symbol());
+                }
+                total -= total * 0.03;
+                balance += total;
+                held.merge(leg.symbol(), -leg.quantity(), Double::sum);
+            }
+            transactions.add(Transaction.builder()
+                    .user(user)
+                    .stockSymbol(leg.symbol())
+                    .quantity(leg.quantity())
+                    .price(leg.price())
+                    .type(leg.buy() ? "BUY" : "SELL")
+                    .timestamp(now)
+                    .total(total)
+                    .build());
+        }
+
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        List<LedgerEvent> events = new ArrayList<>(saved.size());
+        for (Transaction transaction : saved) {
+            events.add(LedgerEvent.trade(transaction));
+        }
+        ledgerService.record(user, positions, events);
+        log.info("Executed batch of {} legs for user {}", legs.size(), userId);
+        return saved;
     }
 
     public List<Transaction> getUserTransactions() {
@@ -98,4 +211,10 @@ public class TransactionService {
     private User getCurrentUser() {
         return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
+
+    // The principal is a cached snapshot; balance checks and updates need the current row
+    private User loadUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
 } 
\ No newline at end of file
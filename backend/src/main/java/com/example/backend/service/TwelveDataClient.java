@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.Quote;
+import com.example.backend.dto.TimeSeries;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raw TwelveData endpoints used by {@link StockService}. Implementations only talk
+ * to the provider; budgets, circuit breakers and caching stay in the service.
+ */
+public interface TwelveDataClient {
+
+    /** symbol_search in TwelveData's response shape ({@code data}, {@code status}). */
+    Map<String, Object> symbolSearch(String query);
+
+    List<SymbolIndex.ListedSymbol> stocks(String country);
+
+    /**
+     * Bars newest first. With {@code startDate} set, every bar from that time on;
+     * otherwise the latest {@code outputSize} bars.
+     */
+    TimeSeries timeSeries(String symbol, String interval, LocalDateTime startDate, int outputSize);
+
+    Quote quote(String symbol);
+
+    /** One request for several symbols: each maps to its {@link Quote} or to the exception for its error. */
+    Map<String, Object> quotes(List<String> symbols);
+}
@@ -1,6 +1,7 @@
 package com.example.backend.service;
 
 import com.example.backend.dto.UserDTO;
+import com.example.backend.model.LedgerEvent;
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,12 +9,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final AccountLocks accountLocks;
+    private final LedgerService ledgerService;
+    private final TransactionTemplate transactionTemplate;
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private User getCurrentUser() {
@@ -38,7 +45,6 @@ public class UserService {
                 .build();
     }
 
-    @Transactional
     public User topUpBalance(double amount) {
         log.info("Attempting to top up balance by: {}", amount);
         if (amount <= 0) {
@@ -46,11 +52,15 @@ public class UserService {
             throw new RuntimeException("Amount must be greater than 0");
         }
 
-        User user = getCurrentUser();
-        log.info("Current user: {}", user.getEmail());
-        user.setBalance(user.getBalance() + amount);
-        User savedUser = userRepository.save(user);
-        log.info("Balance updated successfully. New balance: {}", savedUser.getBalance());
-        return savedUser;
+        // Serialized with the account's orders; the principal is a cached snapshot, so top up the current row
+        Long userId = getCurrentUser().getId();
+        return accountLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            log.info("Current user: {}", user.getEmail());
+            ledgerService.record(user, Map.of(), List.of(LedgerEvent.deposit(amount)));
+            log.info("Balance updated successfully. New balance: {}", user.getBalance());
+            return user;
+        }));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.example.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency samples for one load run. Samples are kept in full (a run
+ * produces at most a few hundred thousand), so percentiles are exact rather than
+ * bucketed.
+ */
+class LatencyRecorder {
+    private final ConcurrentHashMap<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, ok);
+    }
+
+    /** Endpoint name to count, errors, throughput and p50/p95/p99/max in milliseconds. */
+    Map<String, Map<String, Object>> summarize(double seconds) {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        endpoints.forEach((endpoint, samples) -> summary.put(endpoint, samples.summarize(seconds)));
+        return summary;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long value, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized Map<String, Object> summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", count);
+            stats.put("errors", errors);
+            stats.put("throughputPerSec", round(count / seconds));
+            stats.put("p50Ms", millis(percentile(sorted, 50)));
+            stats.put("p95Ms", millis(percentile(sorted, 95)));
+            stats.put("p99Ms", millis(percentile(sorted, 99)));
+            stats.put("maxMs", millis(count > 0 ? sorted[count - 1] : 0));
+            return stats;
+        }
+
+        // Nearest-rank percentile
+        private static long percentile(long[] sorted, int p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, Math.min(rank, sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load run: boots the backend on a random port against {@link ProviderStub}
+ * and drives a mix of virtual users through login, dashboard loads, holdings polling,
+ * buy/sell bursts, watchlist edits and stock detail views.
+ * <p>
+ * Throughput and p50/p95/p99 latency per endpoint are written to
+ * {@code target/load-report/} as JSON (timestamped, plus {@code latest.json}), so
+ * runs of different builds can be diffed. Pass {@code -Dload.baseline=<report.json>}
+ * to fail the run when an endpoint's p95 regresses past
+ * {@code load.max-regression-percent}. Run with {@code mvn test -Pload}; tuning
+ * properties are {@code load.users}, {@code load.warmup-seconds},
+ * {@code load.duration-seconds}, {@code load.think-ms} and {@code load.stub-latency-ms}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTest {
+    private static final List<String> SYMBOLS = List.of("AAPL", "MSFT", "NVDA", "AMZN", "GOOGL", "META", "TSLA", "JPM");
+    private static final Path REPORT_DIR = Path.of("target", "load-report");
+
+    private static ProviderStub stub;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private volatile LatencyRecorder recorder = new LatencyRecorder();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void backendProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new ProviderStub(Long.getLong("load.stub-latency-ms", 20), SYMBOLS);
+        registry.add("app.providers.twelvedata.base-url", stub::twelveDataUrl);
+        registry.add("app.providers.finnhub.base-url", stub::finnhubUrl);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        registry.add("app.symbols.catalog-file", () -> REPORT_DIR.resolve("symbol-catalog.json").toString());
+        registry.add("app.top-movers.symbols", () -> String.join(",", SYMBOLS));
+        registry.add("app.budget.twelvedata.per-minute", () -> 1_000_000);
+        registry.add("app.budget.finnhub.per-minute", () -> 1_000_000);
+        registry.add("spring.jpa.show-sql", () -> false);
+        registry.add("logging.level.org.springframework.security", () -> "WARN");
+        registry.add("logging.level.com.example.backend", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        int users = Integer.getInteger("load.users", 20);
+        long warmupSeconds = Long.getLong("load.warmup-seconds", 5);
+        long durationSeconds = Long.getLong("load.duration-seconds", 30);
+        long thinkMs = Long.getLong("load.think-ms", 100);
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        long runId = System.currentTimeMillis();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        List<Future<?>> sessions = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            sessions.add(pool.submit(() -> {
+                new VirtualUser("load-" + runId + "-" + user + "@example.com", new Random(user), thinkMs).run(stopAt);
+                return null;
+            }));
+        }
+
+        // Everything recorded during warm-up (logins, cold caches, JIT) is thrown away
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+        recorder = new LatencyRecorder();
+        for (Future<?> session : sessions) {
+            session.get();
+        }
+        pool.shutdown();
+
+        Map<String, Map<String, Object>> endpoints = recorder.summarize(durationSeconds);
+        Map<String, Object> report = report(users, warmupSeconds, durationSeconds, thinkMs, endpoints);
+        Path written = writeReport(report);
+        System.out.println(table(endpoints) + "\nLoad report: " + written.toAbsolutePath());
+
+        long requests = endpoints.values().stream().mapToLong(e -> ((Number) e.get("count")).longValue()).sum();
+        long errors = endpoints.values().stream().mapToLong(e -> ((Number) e.get("errors")).longValue()).sum();
+        assertThat(requests).isPositive();
+        assertThat((double) errors / requests)
+            .as("error rate").isLessThanOrEqualTo(Double.parseDouble(System.getProperty("load.max-error-rate", "0.01")));
+        String baseline = System.getProperty("load.baseline");
+        if (baseline != null && !baseline.isBlank()) {
+            assertNoRegression(json.readTree(Path.of(baseline).toFile()), endpoints);
+        }
+    }
+
+    private void assertNoRegression(JsonNode baseline, Map<String, Map<String, Object>> endpoints) {
+        double allowed = Double.parseDouble(System.getProperty("load.max-regression-percent", "25"));
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> {
+            JsonNode before = baseline.path("endpoints").path(endpoint).path("p95Ms");
+            if (before.isMissingNode()) {
+                return;
+            }
+            double now = ((Number) stats.get("p95Ms")).doubleValue();
+            // A couple of milliseconds is scheduling noise, not a regression
+            if (now > before.asDouble() * (1 + allowed / 100) && now - before.asDouble() > 2) {
+                regressions.add(String.format("%s p95 %.2f ms -> %.2f ms", endpoint, before.asDouble(), now));
+            }
+        });
+        assertThat(regressions).as("p95 regressions over " + allowed + "%").isEmpty();
+    }
+
+    private Map<String, Object> report(int users, long warmupSeconds, long durationSeconds, long thinkMs,
+                                       Map<String, Map<String, Object>> endpoints) {
+        long requests = endpoints.values().stream().mapToLong(e -> ((Number) e.get("count")).longValue()).sum();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("users", users);
+        report.put("warmupSeconds", warmupSeconds);
+        report.put("durationSeconds", durationSeconds);
+        report.put("thinkMs", thinkMs);
+        report.put("stubLatencyMs", Long.getLong("load.stub-latency-ms", 20));
+        report.put("providerRequests", stub.getRequestCount());
+        report.put("requests", requests);
+        report.put("throughputPerSec", Math.round(requests * 100.0 / durationSeconds) / 100.0);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private Path writeReport(Map<String, Object> report) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = REPORT_DIR.resolve("load-report-" + stamp + ".json");
+        json.enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        Files.copy(file, REPORT_DIR.resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    private static String table(Map<String, Map<String, Object>> endpoints) {
+        StringBuilder out = new StringBuilder(String.format("%n%-44s %8s %7s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        endpoints.forEach((endpoint, s) -> out.append(String.format("%-44s %8s %7s %9s %9s %9s %9s%n",
+            endpoint, s.get("count"), s.get("errors"), s.get("throughputPerSec"),
+            s.get("p50Ms"), s.get("p95Ms"), s.get("p99Ms"))));
+        return out.toString();
+    }
+
+    /** One simulated user: signs up, then repeats a weighted mix of page flows until the run ends. */
+    private final class VirtualUser {
+        private final String email;
+        private final Random random;
+        private final long thinkMs;
+        private String token;
+        private long userId;
+        private long watchlistId;
+
+        private VirtualUser(String email, Random random, long thinkMs) {
+            this.email = email;
+            this.random = random;
+            this.thinkMs = thinkMs;
+        }
+
+        void run(long stopAt) throws Exception {
+            send("POST /api/auth/register", "POST", "/api/auth/register",
+                Map.of("name", "Load User", "email", email, "password", "load-test-pw", "mobileNo", "0000000000"));
+            JsonNode login = send("POST /api/auth/login", "POST", "/api/auth/login",
+                Map.of("email", email, "password", "load-test-pw"));
+            token = login.path("token").asText();
+            userId = login.path("user").path("id").asLong();
+            send("POST /api/users/topup", "POST", "/api/users/topup", Map.of("amount", 1_000_000));
+            watchlistId = send("POST /api/watchlists", "POST", "/api/watchlists", Map.of("name", "Load")).path("id").asLong();
+
+            while (System.nanoTime() < stopAt) {
+                int roll = random.nextInt(100);
+                if (roll < 35) {
+                    dashboard();
+                } else if (roll < 65) {
+                    pollHoldings();
+                } else if (roll < 80) {
+                    tradeBurst();
+                } else if (roll < 90) {
+                    editWatchlist();
+                } else {
+                    stockDetails();
+                }
+                if (thinkMs > 0) {
+                    Thread.sleep(thinkMs / 2 + (long) (random.nextDouble() * thinkMs));
+                }
+            }
+        }
+
+        private void dashboard() throws Exception {
+            send("GET /api/stocks/top-movers", "GET", "/api/stocks/top-movers", null);
+            send("GET /api/stocks/news", "GET", "/api/stocks/news", null);
+            send("POST /api/stocks/quotes", "POST", "/api/stocks/quotes", Map.of("symbols", SYMBOLS));
+        }
+
+        private void pollHoldings() throws Exception {
+            send("GET /api/holdings", "GET", "/api/holdings", null);
+            send("GET /api/users/{id}", "GET", "/api/users/" + userId, null);
+            send("GET /api/transactions", "GET", "/api/transactions", null);
+        }
+
+        private void tradeBurst() throws Exception {
+            String symbol = symbol();
+            double price = send("GET /api/stocks/{symbol}/quote", "GET", "/api/stocks/" + symbol + "/quote", null)
+                .path("close").asDouble(100);
+            for (int i = 0; i < 3; i++) {
+                send("POST /api/transactions/buy", "POST", "/api/transactions/buy",
+                    Map.of("symbol", symbol, "quantity", 1, "price", price));
+            }
+            send("POST /api/transactions/sell", "POST", "/api/transactions/sell",
+                Map.of("symbol", symbol, "quantity", 2, "price", price));
+        }
+
+        private void editWatchlist() throws Exception {
+            String symbol = symbol();
+            send("POST /api/watchlists/{id}/stocks/{symbol}", "POST",
+                "/api/watchlists/" + watchlistId + "/stocks/" + symbol, null);
+            send("GET /api/watchlists", "GET", "/api/watchlists", null);
+            send("DELETE /api/watchlists/{id}/stocks/{symbol}", "DELETE",
+                "/api/watchlists/" + watchlistId + "/stocks/" + symbol, null);
+        }
+
+        private void stockDetails() throws Exception {
+            String symbol = symbol();
+            send("GET /api/stocks/{symbol}/quote", "GET", "/api/stocks/" + symbol + "/quote", null);
+            send("GET /api/stocks/{symbol}/data", "GET", "/api/stocks/" + symbol + "/data?interval=1day&outputsize=180", null);
+            send("GET /api/stocks/{symbol}/fundamentals", "GET", "/api/stocks/" + symbol + "/fundamentals", null);
+            send("GET /api/stocks/{symbol}/news", "GET", "/api/stocks/" + symbol + "/news", null);
+        }
+
+        private String symbol() {
+            return SYMBOLS.get(random.nextInt(SYMBOLS.size()));
+        }
+
+        private JsonNode send(String endpoint, String method, String path, Object body) throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response;
+            try {
+                response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                recorder.record(endpoint, System.nanoTime() - start, false);
+                return json.missingNode();
+            }
+            boolean ok = response.statusCode() < 400;
+            recorder.record(endpoint, System.nanoTime() - start, ok);
+            if (!ok || response.body().length == 0) {
+                return json.missingNode();
+            }
+            try {
+                return json.readTree(response.body());
+            } catch (IOException e) {
+                // Some endpoints answer with plain text
+                return json.missingNode();
+            }
+        }
+    }
+}
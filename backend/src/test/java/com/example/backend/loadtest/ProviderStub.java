@@ -0,0 +1,242 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.dto.BasicFinancials;
+import com.example.backend.dto.CompanyProfile;
+import com.example.backend.dto.FinnhubQuote;
+import com.example.backend.dto.Quote;
+import com.example.backend.dto.TimeSeries;
+import com.example.backend.service.FinnhubClient;
+import com.example.backend.service.SymbolIndex;
+import com.example.backend.service.SyntheticFinnhubClient;
+import com.example.backend.service.SyntheticMarketData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local HTTP stand-in for TwelveData and Finnhub. Responses are generated by the
+ * synthetic market and written in each provider's wire format, so the backend's
+ * real HTTP client, parsers, budgets and breakers are all on the measured path.
+ * Every response is delayed by a fixed latency to model the provider round trip.
+ */
+class ProviderStub implements AutoCloseable {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final HttpServer server;
+    private final SyntheticMarketData market;
+    private final FinnhubClient finnhub;
+    private final ObjectMapper json = new ObjectMapper();
+    private final long latencyMs;
+    private final AtomicLong requests = new AtomicLong();
+
+    ProviderStub(long latencyMs, List<String> symbols) throws IOException {
+        this.latencyMs = latencyMs;
+        this.market = new SyntheticMarketData(42, 0.07, 0.3, 200, symbols);
+        this.finnhub = new SyntheticFinnhubClient(market);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(64));
+        server.createContext("/twelvedata/", this::twelveData);
+        server.createContext("/finnhub/", this::finnhub);
+        server.start();
+    }
+
+    String twelveDataUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/twelvedata";
+    }
+
+    String finnhubUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/finnhub";
+    }
+
+    long getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void twelveData(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        String path = exchange.getRequestURI().getPath().substring("/twelvedata".length());
+        Object body = switch (path) {
+            case "/quote" -> {
+                List<String> symbols = Arrays.asList(query.get("symbol").split(","));
+                if (symbols.size() == 1) {
+                    yield twelveDataQuote(market.quote(symbols.get(0)));
+                }
+                Map<String, Object> batch = new LinkedHashMap<>();
+                market.quotes(symbols).forEach((symbol, quote) -> batch.put(symbol, twelveDataQuote((Quote) quote)));
+                yield batch;
+            }
+            case "/time_series" -> {
+                String start = query.get("start_date");
+                TimeSeries series = market.timeSeries(query.get("symbol"), query.get("interval"),
+                    start != null ? LocalDateTime.parse(start, DATE_TIME) : null,
+                    Integer.parseInt(query.getOrDefault("outputsize", "30")));
+                yield timeSeries(query.get("symbol"), query.get("interval"), series);
+            }
+            case "/stocks" -> Map.of("data", stocks(market.stocks(query.get("country"))), "status", "ok");
+            case "/symbol_search" -> market.symbolSearch(query.get("symbol"));
+            default -> null;
+        };
+        respond(exchange, body);
+    }
+
+    private void finnhub(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        String path = exchange.getRequestURI().getPath().substring("/finnhub".length());
+        Object body = switch (path) {
+            case "/quote" -> finnhubQuote(finnhub.quote(query.get("symbol")));
+            case "/stock/profile2" -> profile(finnhub.profile(query.get("symbol")));
+            case "/stock/metric" -> metrics(finnhub.metrics(query.get("symbol")));
+            case "/news" -> finnhub.marketNews();
+            case "/company-news" -> finnhub.companyNews(query.get("symbol"),
+                LocalDate.parse(query.get("from")), LocalDate.parse(query.get("to")));
+            default -> null;
+        };
+        respond(exchange, body);
+    }
+
+    private void respond(HttpExchange exchange, Object body) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] bytes = json.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    // TwelveData sends numbers as strings
+    private static Map<String, Object> twelveDataQuote(Quote quote) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("symbol", quote.getSymbol());
+        body.put("name", quote.getName());
+        body.put("exchange", quote.getExchange());
+        body.put("currency", quote.getCurrency());
+        body.put("datetime", LocalDateTime.ofEpochSecond(quote.getTimestamp(), 0, ZoneOffset.UTC).format(DATE_TIME));
+        body.put("timestamp", quote.getTimestamp());
+        body.put("open", String.valueOf(quote.getOpen()));
+        body.put("high", String.valueOf(quote.getHigh()));
+        body.put("low", String.valueOf(quote.getLow()));
+        body.put("close", String.valueOf(quote.getClose()));
+        body.put("volume", String.valueOf(quote.getVolume()));
+        body.put("previous_close", String.valueOf(quote.getPreviousClose()));
+        body.put("change", String.valueOf(quote.getChange()));
+        body.put("percent_change", String.valueOf(quote.getPercentChange()));
+        body.put("is_market_open", quote.getMarketOpen());
+        return body;
+    }
+
+    private static Map<String, Object> timeSeries(String symbol, String interval, TimeSeries series) {
+        List<Map<String, String>> values = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            Map<String, String> bar = new LinkedHashMap<>();
+            bar.put("datetime", LocalDateTime.ofEpochSecond(series.times()[i], 0, ZoneOffset.UTC).format(DATE_TIME));
+            bar.put("open", String.valueOf(series.open()[i]));
+            bar.put("high", String.valueOf(series.high()[i]));
+            bar.put("low", String.valueOf(series.low()[i]));
+            bar.put("close", String.valueOf(series.close()[i]));
+            bar.put("volume", String.valueOf(series.volume()[i]));
+            values.add(bar);
+        }
+        return Map.of("meta", Map.of("symbol", symbol, "interval", interval), "values", values, "status", "ok");
+    }
+
+    private static List<Map<String, Object>> stocks(List<SymbolIndex.ListedSymbol> listed) {
+        List<Map<String, Object>> data = new ArrayList<>(listed.size());
+        for (SymbolIndex.ListedSymbol symbol : listed) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("symbol", symbol.symbol());
+            entry.put("name", symbol.name());
+            entry.put("currency", symbol.currency());
+            entry.put("exchange", symbol.exchange());
+            entry.put("mic_code", symbol.micCode());
+            entry.put("country", symbol.country());
+            entry.put("type", symbol.type());
+            data.add(entry);
+        }
+        return data;
+    }
+
+    private static Map<String, Object> finnhubQuote(FinnhubQuote quote) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("c", quote.current());
+        body.put("d", quote.change());
+        body.put("dp", quote.percentChange());
+        body.put("h", quote.high());
+        body.put("l", quote.low());
+        body.put("o", quote.open());
+        body.put("pc", quote.previousClose());
+        body.put("t", quote.timestamp());
+        return body;
+    }
+
+    private static Map<String, Object> profile(CompanyProfile profile) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("ticker", profile.ticker());
+        body.put("name", profile.name());
+        body.put("exchange", profile.exchange());
+        body.put("country", profile.country());
+        body.put("currency", profile.currency());
+        body.put("finnhubIndustry", profile.industry());
+        body.put("weburl", profile.weburl());
+        body.put("logo", profile.logo());
+        body.put("ipo", profile.ipo());
+        body.put("marketCapitalization", profile.marketCapitalization());
+        body.put("shareOutstanding", profile.shareOutstanding());
+        return body;
+    }
+
+    private static Map<String, Object> metrics(BasicFinancials financials) {
+        return Map.of("symbol", financials.symbol(), "metricType", "all", "metric", financials.metric(),
+            "series", Map.of("annual", Map.of()));
+    }
+}
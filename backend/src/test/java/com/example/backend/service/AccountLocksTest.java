@@ -0,0 +1,108 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountLocksTest {
+
+    @Test
+    void sameAccountRunsOneAtATime() throws Exception {
+        AccountLocks locks = new AccountLocks(64, 5000);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        long[] balance = {0};
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                results.add(pool.submit(() -> locks.withLock(7L, () -> {
+                    maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                    balance[0]++;
+                    inside.decrementAndGet();
+                    return null;
+                })));
+            }
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(maxInside.get()).isEqualTo(1);
+        assertThat(balance[0]).isEqualTo(2000);
+    }
+
+    @Test
+    void differentAccountsRunInParallel() throws Exception {
+        AccountLocks locks = new AccountLocks(256, 5000);
+        // Two ids on different stripes: the second must get in while the first holds its lock
+        long first = 1;
+        long second = 2;
+        assertThat(locks.stripe(first)).isNotEqualTo(locks.stripe(second));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> blocker = pool.submit(() -> locks.withLock(first, () -> {
+                holding.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(locks.withLock(second, () -> "done")).isEqualTo("done");
+            release.countDown();
+            blocker.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void busyAccountTimesOutAndSequentialIdsSpreadOverStripes() throws Exception {
+        AccountLocks locks = new AccountLocks(256, 50);
+        assertThat(locks.stripeCount()).isEqualTo(256);
+        Set<Integer> used = new HashSet<>();
+        for (long id = 1; id <= 256; id++) {
+            used.add(locks.stripe(id));
+        }
+        assertThat(used.size()).isGreaterThan(128);
+
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> locks.withLock(3L, () -> {
+                holding.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThatThrownBy(() -> locks.withLock(3L, () -> "late"))
+                    .hasMessageContaining("Account is busy");
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownsamplerTest {
+
+    @Test
+    void keepsEndpointsAndRequestedCount() {
+        int n = 1_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i / 25.0);
+        }
+
+        int[] keep = Downsampler.lttb(x, y, 50);
+
+        assertThat(keep).hasSize(50);
+        assertThat(keep[0]).isZero();
+        assertThat(keep[keep.length - 1]).isEqualTo(n - 1);
+        for (int i = 1; i < keep.length; i++) {
+            assertThat(keep[i]).isGreaterThan(keep[i - 1]);
+        }
+    }
+
+    @Test
+    void preservesSpikes() {
+        double[] x = new double[100];
+        double[] y = new double[100];
+        for (int i = 0; i < 100; i++) {
+            x[i] = i;
+            y[i] = 10;
+        }
+        y[57] = 90;
+
+        assertThat(Downsampler.lttb(x, y, 10)).contains(57);
+    }
+
+    @Test
+    void returnsEveryIndexWhenThresholdCoversInput() {
+        double[] x = {1, 2, 3, 4};
+        double[] y = {4, 3, 2, 1};
+
+        assertThat(Downsampler.lttb(x, y, 10)).containsExactly(0, 1, 2, 3);
+        assertThat(Downsampler.lttb(x, y, 0)).containsExactly(0, 1, 2, 3);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheConfig;
+import com.example.backend.dto.IdempotentResponse;
+import com.example.backend.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+    private final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+    private final InMemoryIdempotencyStore store =
+            new InMemoryIdempotencyStore(new CaffeineCacheManager(CacheConfig.IDEMPOTENT_RESPONSES));
+    private final IdempotencyService idempotencyService = new IdempotencyService(store, new ObjectMapper(),
+            new AccountLocks(16, 5000), new TransactionTemplate(transactionManager));
+    private final AtomicInteger executions = new AtomicInteger();
+    private final Map<String, Object> order = Map.of("symbol", "AAPL", "quantity", 2, "price", 10.0);
+
+    @BeforeEach
+    void signIn() {
+        when(transactionManager.getTransaction(any())).thenAnswer(call -> new SimpleTransactionStatus());
+        SecurityContextHolder.getContext().setAuthentication(authentication(1L));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedKeyReplaysTheStoredResponse() {
+        ResponseEntity<?> first = idempotencyService.execute("k1", "buy", order, this::fill);
+        ResponseEntity<?> second = idempotencyService.execute("k1", "buy", order, this::fill);
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(second.getBody()).isEqualTo("{\"fill\":1}");
+
+        // Without a key, or under another user, the same request executes again
+        idempotencyService.execute(null, "buy", order, this::fill);
+        SecurityContextHolder.getContext().setAuthentication(authentication(2L));
+        idempotencyService.execute("k1", "buy", order, this::fill);
+        assertThat(executions.get()).isEqualTo(3);
+    }
+
+    @Test
+    void failuresAreNotStoredAndReusedKeysAreRejected() {
+        ResponseEntity<?> failed = idempotencyService.execute("k2", "buy", order, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.badRequest().body("Insufficient balance");
+        });
+        ResponseEntity<?> retried = idempotencyService.execute("k2", "buy", order, this::fill);
+        ResponseEntity<?> otherRequest = idempotencyService.execute("k2", "sell", order, this::fill);
+
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(otherRequest.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Authentication caller = SecurityContextHolder.getContext().getAuthentication();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResponseEntity<?>>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(pool.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(caller);
+                    return idempotencyService.execute("k3", "buy", order, () -> {
+                        started.countDown();
+                        await(release);
+                        return fill();
+                    });
+                }));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            for (Future<ResponseEntity<?>> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void orderAndStoredResponseCommitOrRollBackTogether() {
+        ResponseEntity<?> failed = idempotencyService.execute("k4", "buy", order,
+                () -> ResponseEntity.badRequest().body("Insufficient balance"));
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        // The manager rolls back a rollback-only transaction on commit
+        verify(transactionManager).commit(Mockito.argThat(TransactionStatus::isRollbackOnly));
+
+        // A record that cannot be saved rolls the order back with it
+        IdempotencyService failingStore = new IdempotencyService(new IdempotencyStore() {
+            @Override
+            public Optional<IdempotentResponse> find(String key) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void save(String key, IdempotentResponse response) {
+                throw new IllegalStateException("database unavailable");
+            }
+        }, new ObjectMapper(), new AccountLocks(16, 5000), new TransactionTemplate(transactionManager));
+        assertThatThrownBy(() -> failingStore.execute("k5", "buy", order, this::fill))
+                .hasMessageContaining("database unavailable");
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    private ResponseEntity<?> fill() {
+        return ResponseEntity.ok(Map.of("fill", executions.incrementAndGet()));
+    }
+
+    private static Authentication authentication(Long userId) {
+        User user = User.builder().id(userId).email("user" + userId + "@example.com").build();
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheConfig;
+import com.example.backend.model.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.VERIFIED_TOKENS);
+    private final JwtService jwtService = new JwtService(cacheManager);
+    private final User user = User.builder().id(1L).email("alice@example.com").name("Alice").build();
+
+    @Test
+    void verifiedTokenIsCachedByDigest() {
+        String token = jwtService.generateToken(user);
+
+        JwtService.TokenClaims first = jwtService.verify(token);
+        JwtService.TokenClaims second = jwtService.verify(token);
+
+        assertThat(first.username()).isEqualTo("alice@example.com");
+        assertThat(first.userId()).isEqualTo(1L);
+        assertThat(first.expiresAt()).isAfter(first.issuedAt());
+        assertThat(second).isSameAs(first);
+        assertThat(jwtService.isTokenValid(token, user)).isTrue();
+        assertThat(jwtService.isTokenValid(first, User.builder().email("bob@example.com").build())).isFalse();
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenWhenOriginalIsCached() {
+        String token = jwtService.generateToken(user);
+        jwtService.verify(token);
+
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char flipped = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signatureStart) + flipped + token.substring(signatureStart + 1);
+
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void expiredCachedClaimsAreNotServed() {
+        String token = jwtService.generateToken(user);
+        jwtService.verify(token);
+        JwtService.TokenClaims expired = new JwtService.TokenClaims("alice@example.com", 1L, 0,
+                Instant.now().minusSeconds(120), Instant.now().minusSeconds(60));
+        cacheManager.getCache(CacheConfig.VERIFIED_TOKENS).put(JwtService.digest(token), expired);
+
+        JwtService.TokenClaims claims = jwtService.verify(token);
+
+        assertThat(claims).isNotSameAs(expired);
+        assertThat(claims.isExpired()).isFalse();
+    }
+
+    @Test
+    void tokenIssuedBeforeRevocationIsInvalid() {
+        String token = jwtService.generateToken(user);
+        JwtService.TokenClaims claims = jwtService.verify(token);
+        assertThat(jwtService.isTokenValid(claims, user)).isTrue();
+
+        user.setTokenVersion(user.getTokenVersion() + 1);
+
+        assertThat(jwtService.isTokenValid(claims, user)).isFalse();
+        assertThat(jwtService.isTokenValid(jwtService.generateToken(user), user)).isTrue();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Holdings;
+import com.example.backend.model.LedgerEvent;
+import com.example.backend.model.LedgerSnapshot;
+import com.example.backend.model.Transaction;
+import com.example.backend.model.User;
+import com.example.backend.repository.HoldingsRepository;
+import com.example.backend.repository.LedgerEventRepository;
+import com.example.backend.repository.LedgerSnapshotRepository;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class LedgerServiceTest {
+    private final List<LedgerEvent> ledger = new ArrayList<>();
+    private final AtomicReference<LedgerSnapshot> latestSnapshot = new AtomicReference<>();
+    private final HoldingsRepository holdingsRepository = Mockito.mock(HoldingsRepository.class);
+    private final User user = User.builder().id(1L).email("alice@example.com").balance(500.0).build();
+    private final Map<String, Holdings> projection = new TreeMap<>();
+    private LedgerService ledgerService;
+
+    @BeforeEach
+    void setUp() {
+        // An account that predates the ledger: cash and one position, no events
+        Holdings aapl = Holdings.builder().id(9L).user(user).stockSymbol("AAPL").quantity(10.0).averagePrice(50.0).build();
+        projection.put("AAPL", aapl);
+        when(holdingsRepository.findByUser(user)).thenReturn(List.of(aapl));
+
+        LedgerEventRepository eventRepository = Mockito.mock(LedgerEventRepository.class);
+        when(eventRepository.findLastSequence(1L)).thenAnswer(call ->
+                ledger.isEmpty() ? null : ledger.get(ledger.size() - 1).getSequence());
+        when(eventRepository.saveAll(anyList())).thenAnswer(call -> {
+            ledger.addAll(call.getArgument(0));
+            return call.getArgument(0);
+        });
+        when(eventRepository.findByUserIdAndSequenceGreaterThanOrderBySequence(eq(1L), anyLong())).thenAnswer(call ->
+                ledger.stream().filter(e -> e.getSequence() > (long) call.getArgument(1)).toList());
+
+        LedgerSnapshotRepository snapshotRepository = Mockito.mock(LedgerSnapshotRepository.class);
+        when(snapshotRepository.save(any())).thenAnswer(call -> {
+            latestSnapshot.set(call.getArgument(0));
+            return call.getArgument(0);
+        });
+        when(snapshotRepository.findFirstByUserIdOrderBySequenceDesc(1L))
+                .thenAnswer(call -> Optional.ofNullable(latestSnapshot.get()));
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        ledgerService = new LedgerService(eventRepository, snapshotRepository, userRepository, holdingsRepository,
+                new HoldingsService(holdingsRepository, userRepository), new ObjectMapper(), 25);
+    }
+
+    @Test
+    void replayFromSnapshotMatchesTheIncrementalProjectionExactly() {
+        Random random = new Random(11);
+        String[] symbols = {"AAPL", "MSFT", "NVDA"};
+        for (int i = 0; i < 200; i++) {
+            String symbol = symbols[random.nextInt(symbols.length)];
+            Holdings position = projection.computeIfAbsent(symbol, s -> Holdings.builder()
+                    .user(user).stockSymbol(s).quantity(0.0).averagePrice(0.0).build());
+            double price = 10 + random.nextDouble() * 90;
+            LedgerEvent event;
+            if (random.nextInt(10) == 0) {
+                event = LedgerEvent.deposit(random.nextDouble() * 1000);
+            } else if (position.getQuantity() > 0 && random.nextBoolean()) {
+                // Sometimes sell out completely, to exercise emptied positions
+                double quantity = random.nextBoolean() ? position.getQuantity() : position.getQuantity() * random.nextDouble();
+                event = LedgerEvent.trade(trade("SELL", symbol, quantity, price, quantity * price * 0.97));
+            } else {
+                double quantity = 0.1 + random.nextDouble() * 3;
+                event = LedgerEvent.trade(trade("BUY", symbol, quantity, price, quantity * price));
+            }
+            ledgerService.record(user, Map.of(symbol, position), List.of(event));
+            // Emptied rows are deleted, like savePositions does
+            projection.values().removeIf(h -> h.getQuantity() <= 0);
+        }
+
+        LedgerService.LedgerState replayed = ledgerService.replay(1L);
+
+        assertThat(ledger.get(0).getType()).isEqualTo(LedgerEvent.GENESIS);
+        assertThat(replayed.getSequence()).isEqualTo(ledger.size());
+        assertThat(latestSnapshot.get()).isNotNull();
+        assertThat(latestSnapshot.get().getSequence()).isGreaterThan(ledger.size() - 25L);
+        assertThat(replayed.getBalance()).isEqualTo(user.getBalance());
+        assertThat(replayed.getPositions().keySet()).isEqualTo(projection.keySet());
+        projection.forEach((symbol, position) -> {
+            assertThat(replayed.getPositions().get(symbol).getQuantity()).isEqualTo(position.getQuantity());
+            assertThat(replayed.getPositions().get(symbol).getAveragePrice()).isEqualTo(position.getAveragePrice());
+        });
+
+        // A full replay without the snapshot agrees as well
+        LedgerService.LedgerState full = LedgerService.replay(new LedgerService.LedgerState(), ledger);
+        assertThat(full.getBalance()).isEqualTo(replayed.getBalance());
+        assertThat(full.getPositions().keySet()).isEqualTo(replayed.getPositions().keySet());
+    }
+
+    private Transaction trade(String type, String symbol, double quantity, double price, double total) {
+        return Transaction.builder()
+                .id((long) ledger.size() + 1)
+                .user(user)
+                .type(type)
+                .stockSymbol(symbol)
+                .quantity(quantity)
+                .price(price)
+                .total(total)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookTest {
+
+    @Test
+    void ordersFireOnlyOnceTheirThresholdIsCrossed() {
+        OrderBook book = new OrderBook();
+        book.add(1, 95.0, true);   // buy limit 95
+        book.add(2, 90.0, true);   // buy limit 90
+        book.add(3, 105.0, false); // sell limit 105
+        book.add(4, 110.0, false); // buy stop 110
+
+        assertThat(fire(book, 100.0)).isEmpty();
+        assertThat(fire(book, 95.0)).containsExactly(1L);
+        assertThat(fire(book, 80.0)).containsExactly(2L);
+        assertThat(fire(book, 120.0)).containsExactly(3L, 4L);
+        assertThat(book.size()).isZero();
+    }
+
+    @Test
+    void cancelledOrdersNeverFireAndAreCompactedAway() {
+        OrderBook book = new OrderBook();
+        for (long id = 1; id <= 100; id++) {
+            book.add(id, id, true);
+        }
+        for (long id = 1; id <= 60; id++) {
+            book.cancel(id);
+        }
+
+        // The 51st cancel left more cancelled than live entries and compacted the book
+        assertThat(book.size()).isEqualTo(49);
+        List<Long> fired = fire(book, 0.0);
+        assertThat(fired).hasSize(40).allMatch(id -> id > 60);
+        assertThat(fired).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void matchesALinearScanOnRandomTicks() {
+        Random random = new Random(7);
+        OrderBook book = new OrderBook();
+        List<double[]> resting = new ArrayList<>();
+        for (long id = 0; id < 5000; id++) {
+            double threshold = 50 + random.nextDouble() * 100;
+            boolean atOrBelow = random.nextBoolean();
+            book.add(id, threshold, atOrBelow);
+            resting.add(new double[] {id, threshold, atOrBelow ? 1 : 0});
+        }
+
+        double price = 100;
+        for (int tick = 0; tick < 2000; tick++) {
+            price += random.nextGaussian();
+            Set<Long> expected = new HashSet<>();
+            for (double[] order : resting) {
+                boolean atOrBelow = order[2] == 1;
+                if (atOrBelow ? price <= order[1] : price >= order[1]) {
+                    expected.add((long) order[0]);
+                }
+            }
+            resting.removeIf(order -> expected.contains((long) order[0]));
+
+            assertThat(new HashSet<>(fire(book, price))).isEqualTo(expected);
+        }
+        assertThat(book.size()).isEqualTo(resting.size());
+    }
+
+    private static List<Long> fire(OrderBook book, double price) {
+        List<Long> fired = new ArrayList<>();
+        book.trigger(price, fired::add);
+        return fired;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.Quote;
+import com.example.backend.model.Order;
+import com.example.backend.model.Transaction;
+import com.example.backend.model.User;
+import com.example.backend.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceTest {
+    private final OrderRepository orderRepository = Mockito.mock(OrderRepository.class);
+    private final TransactionService transactionService = Mockito.mock(TransactionService.class);
+    private final QuoteService quoteService = Mockito.mock(QuoteService.class);
+    private final OrderMatchingEngine engine = new OrderMatchingEngine();
+    private final User user = User.builder().id(1L).email("alice@example.com").balance(1000.0).build();
+    private final Order order = Order.builder().id(7L).user(user).stockSymbol("AAPL").side("BUY").type("LIMIT")
+            .quantity(2.0).triggerPrice(95.0).status(OrderService.OPEN).build();
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+        when(transactionService.buyStock(anyLong(), anyString(), anyDouble(), anyDouble()))
+                .thenReturn(Transaction.builder().id(3L).build());
+        orderService = new OrderService(orderRepository, engine, transactionService, quoteService,
+                new AccountLocks(16, 1000), new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)));
+        engine.add(order);
+    }
+
+    @Test
+    void staleQuotesNeverFillOrders() {
+        when(quoteService.getQuotes(anyCollection(), eq(RequestPriority.BACKGROUND))).thenReturn(Map.of("AAPL", quote(90.0, true)));
+
+        orderService.tick();
+
+        verify(transactionService, never()).buyStock(anyLong(), anyString(), anyDouble(), anyDouble());
+        assertThat(order.getStatus()).isEqualTo(OrderService.OPEN);
+        assertThat(engine.symbols()).containsExactly("AAPL");
+    }
+
+    @Test
+    void freshQuotesFillCrossedOrdersAtTheQuotedPrice() {
+        when(quoteService.getQuotes(anyCollection(), eq(RequestPriority.BACKGROUND))).thenReturn(Map.of("AAPL", quote(90.0, null)));
+
+        orderService.tick();
+
+        verify(transactionService).buyStock(1L, "AAPL", 2.0, 90.0);
+        assertThat(order.getStatus()).isEqualTo("FILLED");
+        assertThat(order.getFillPrice()).isEqualTo(90.0);
+        assertThat(engine.symbols()).isEmpty();
+    }
+
+    @Test
+    void busyAccountsLeaveTheOrderRestingForTheNextTick() {
+        when(transactionService.buyStock(anyLong(), anyString(), anyDouble(), anyDouble()))
+                .thenThrow(new AccountBusyException("Account is busy, please retry"))
+                .thenReturn(Transaction.builder().id(3L).build());
+
+        orderService.onQuote("AAPL", 90.0);
+
+        assertThat(order.getStatus()).isEqualTo(OrderService.OPEN);
+        assertThat(engine.symbols()).containsExactly("AAPL");
+
+        orderService.onQuote("AAPL", 90.0);
+
+        assertThat(order.getStatus()).isEqualTo("FILLED");
+        assertThat(engine.symbols()).isEmpty();
+    }
+
+    @Test
+    void businessFailuresRejectTheOrder() {
+        when(transactionService.buyStock(anyLong(), anyString(), anyDouble(), anyDouble()))
+                .thenThrow(new RuntimeException("Insufficient balance"));
+
+        orderService.onQuote("AAPL", 90.0);
+
+        assertThat(order.getStatus()).isEqualTo("REJECTED");
+        assertThat(order.getMessage()).isEqualTo("Insufficient balance");
+        assertThat(engine.symbols()).isEmpty();
+    }
+
+    @Test
+    void ordersWithoutAPositiveFiniteQuantityAndPriceAreRejected() {
+        assertThatThrownBy(() -> orderService.placeOrder("AAPL", "BUY", "LIMIT", 1, Double.POSITIVE_INFINITY))
+                .hasMessageContaining("must be positive");
+        assertThatThrownBy(() -> orderService.placeOrder("AAPL", "SELL", "STOP", Double.NaN, 95.0))
+                .hasMessageContaining("must be positive");
+
+        verify(orderRepository, never()).save(any());
+    }
+
+    private static Quote quote(double close, Boolean stale) {
+        return Quote.builder().symbol("AAPL").close(close).stale(stale).build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheConfig;
+import com.example.backend.model.User;
+import com.example.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrincipalServiceTest {
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final PrincipalService principalService =
+            new PrincipalService(userRepository, new ConcurrentMapCacheManager(CacheConfig.PRINCIPALS));
+    private final User user = User.builder().id(1L).email("alice@example.com").build();
+
+    @Test
+    void principalsAreLoadedOnce() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertThat(principalService.findPrincipal(1L)).contains(user);
+        assertThat(principalService.findPrincipal(1L)).contains(user);
+
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void aLoadThatRacesARevokeIsNotCached() {
+        // The load reads the row before the revoke bumps the version, and finishes after it
+        when(userRepository.findById(1L)).thenAnswer(call -> {
+            principalService.revokeTokens(1L);
+            return Optional.of(user);
+        }).thenReturn(Optional.of(user));
+
+        principalService.findPrincipal(1L);
+        principalService.findPrincipal(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BasicFinancials;
+import com.example.backend.dto.Quote;
+import com.example.backend.dto.TimeSeries;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderResponseParserTest {
+
+    @Test
+    void readsTimeSeriesIntoArrays() throws Exception {
+        TimeSeries series = ProviderResponseParser.timeSeries(json("""
+            {"meta":{"symbol":"AAPL","interval":"1h"},
+             "values":[
+               {"datetime":"2024-03-01 15:30:00","open":"180.1","high":"181","low":"179.5","close":"180.75","volume":"1200"},
+               {"datetime":"2024-03-01","open":"1","high":"2","low":"0.5","close":"1.5","volume":"10"}
+             ],
+             "status":"ok"}
+            """));
+
+        assertThat(series.size()).isEqualTo(2);
+        assertThat(series.times()[0])
+            .isEqualTo(LocalDateTime.of(2024, 3, 1, 15, 30).toEpochSecond(ZoneOffset.UTC));
+        assertThat(series.times()[1])
+            .isEqualTo(LocalDateTime.of(2024, 3, 1, 0, 0).toEpochSecond(ZoneOffset.UTC));
+        assertThat(series.close()).containsExactly(180.75, 1.5);
+        assertThat(series.volume()).containsExactly(1200L, 10L);
+    }
+
+    @Test
+    void parsesNumericStringsExactly() throws Exception {
+        TimeSeries series = ProviderResponseParser.timeSeries(json("""
+            {"values":[
+               {"datetime":"2024-03-01","open":"0.1","high":"123456.789012","low":"-2.5","close":"1e3","volume":""},
+               {"datetime":"2024-03-02","open":12.25,"high":"12345678901234567.5","low":"7.","close":"n/a","volume":"99"}
+             ]}
+            """));
+
+        assertThat(series.open()).containsExactly(0.1, 12.25);
+        assertThat(series.high()).containsExactly(123456.789012, 12345678901234567.5);
+        assertThat(series.low()).containsExactly(-2.5, 7.0);
+        assertThat(series.close()).containsExactly(1000.0, 0.0);
+        assertThat(series.volume()).containsExactly(0L, 99L);
+    }
+
+    @Test
+    void surfacesTwelveDataErrors() {
+        assertThatThrownBy(() -> ProviderResponseParser.timeSeries(json(
+            "{\"code\":429,\"message\":\"You have run out of API credits\",\"status\":\"error\"}")))
+            .isInstanceOf(ProviderUnavailableException.class)
+            .hasMessageContaining("API credits");
+        assertThatThrownBy(() -> ProviderResponseParser.twelveDataQuote(json(
+            "{\"code\":400,\"message\":\"symbol not found\",\"status\":\"error\"}"), "NOPE"))
+            .isNotInstanceOf(ProviderUnavailableException.class)
+            .hasMessage("symbol not found");
+    }
+
+    @Test
+    void splitsBatchQuotesIntoQuotesAndPerSymbolErrors() throws Exception {
+        Map<String, Object> quotes = ProviderResponseParser.twelveDataQuotes(json("""
+            {"AAPL":{"symbol":"AAPL","close":"180.5","percent_change":"1.25","fifty_two_week":{"low":"1"}},
+             "NOPE":{"code":404,"message":"not found","status":"error"}}
+            """));
+
+        assertThat(quotes.get("AAPL")).isInstanceOfSatisfying(Quote.class, quote -> {
+            assertThat(quote.getClose()).isEqualTo(180.5);
+            assertThat(quote.getPercentChange()).isEqualTo(1.25);
+        });
+        assertThat(quotes.get("NOPE")).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void keepsOnlyNumericMetrics() throws Exception {
+        BasicFinancials financials = ProviderResponseParser.basicFinancials(json("""
+            {"symbol":"AAPL",
+             "metric":{"beta":1.2,"52WeekHighDate":"2024-01-01","epsTTM":6},
+             "series":{"annual":{"eps":[{"period":"2023-09-30","v":6.1}]}}}
+            """));
+
+        assertThat(financials.metric()).containsOnly(Map.entry("beta", 1.2), Map.entry("epsTTM", 6.0));
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
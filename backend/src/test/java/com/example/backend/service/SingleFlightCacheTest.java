@@ -0,0 +1,116 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+
+    @Test
+    void concurrentMissesTriggerOneLoad() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                results.add(pool.submit(() -> cache.get("AAPL", key -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return key + "-quote";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("AAPL-quote");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(Duration.ofNanos(100), 100, now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("MSFT", key -> loads.incrementAndGet());
+        now.addAndGet(50);
+        cache.get("MSFT", key -> loads.incrementAndGet());
+        assertThat(loads.get()).isEqualTo(1);
+
+        now.addAndGet(100);
+        assertThat(cache.get("MSFT", key -> loads.incrementAndGet())).isEqualTo(2);
+    }
+
+    @Test
+    void loadsOnlyJoinCallersInTheSameLane() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> background = pool.submit(() -> cache.get("AAPL", "background", key -> {
+                loading.countDown();
+                awaitQuietly(release);
+                return "slow";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Not held up by the background load, and its result is cached for everyone
+            assertThat(cache.get("AAPL", "interactive", key -> "fast")).isEqualTo("fast");
+            assertThat(cache.getIfFresh("AAPL")).isEqualTo("fast");
+
+            release.countDown();
+            assertThat(background.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void entriesAreBoundedByMaximumSize() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofMinutes(1), 100);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.get("SYM" + i, key -> key);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> cache.get("TSLA", key -> {
+            throw new RuntimeException("rate limited");
+        })).hasMessage("rate limited");
+
+        assertThat(cache.get("TSLA", key -> "ok")).isEqualTo("ok");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
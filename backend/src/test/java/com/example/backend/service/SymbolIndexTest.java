@@ -0,0 +1,58 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolIndexTest {
+
+    private final SymbolIndex index = new SymbolIndex(List.of(
+        listed("AAPL", "Apple Inc"),
+        listed("AAP", "Advance Auto Parts Inc"),
+        listed("APLE", "Apple Hospitality REIT Inc"),
+        listed("MSFT", "Microsoft Corp"),
+        listed("MSTR", "MicroStrategy Inc"),
+        listed("NVDA", "NVIDIA Corp")
+    ));
+
+    @Test
+    void exactTickerRanksFirst() {
+        List<SymbolIndex.ListedSymbol> results = index.search("aap", 10, symbol -> 0);
+
+        assertThat(results).extracting(SymbolIndex.ListedSymbol::symbol).startsWith("AAP", "AAPL");
+    }
+
+    @Test
+    void matchesCompanyNamesAndUsesPopularityAsTieBreaker() {
+        Map<String, Integer> popularity = Map.of("AAPL", 100);
+
+        List<SymbolIndex.ListedSymbol> results = index.search("apple", 10, s -> popularity.getOrDefault(s, 0));
+
+        assertThat(results).extracting(SymbolIndex.ListedSymbol::symbol).startsWith("AAPL", "APLE");
+    }
+
+    @Test
+    void containsOnlyListedTickers() {
+        assertThat(index.contains("nvda")).isTrue();
+        assertThat(index.contains("AAP")).isTrue();
+        assertThat(index.contains("AA")).isFalse();
+        assertThat(index.contains("../../etc")).isFalse();
+    }
+
+    @Test
+    void toleratesTypos() {
+        assertThat(index.search("microsfot", 10, symbol -> 0))
+            .extracting(SymbolIndex.ListedSymbol::symbol)
+            .contains("MSFT");
+        assertThat(index.search("nvdia", 10, symbol -> 0))
+            .extracting(SymbolIndex.ListedSymbol::symbol)
+            .contains("NVDA");
+    }
+
+    private static SymbolIndex.ListedSymbol listed(String symbol, String name) {
+        return new SymbolIndex.ListedSymbol(symbol, name, "NASDAQ", "XNGS", "United States", "Common Stock", "USD");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.Quote;
+import com.example.backend.dto.TimeSeries;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticMarketDataTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-10T14:37:25Z"), ZoneOffset.UTC);
+
+    private final SyntheticMarketData market = new SyntheticMarketData(42, 0.07, 0.3, 50, List.of("AAPL"), CLOCK);
+
+    @Test
+    void isDeterministicForASeed() {
+        SyntheticMarketData same = new SyntheticMarketData(42, 0.07, 0.3, 50, List.of("AAPL"), CLOCK);
+        SyntheticMarketData other = new SyntheticMarketData(7, 0.07, 0.3, 50, List.of("AAPL"), CLOCK);
+
+        assertThat(same.quote("AAPL")).isEqualTo(market.quote("AAPL"));
+        assertThat(same.timeSeries("AAPL", "1h", null, 100).close())
+            .containsExactly(market.timeSeries("AAPL", "1h", null, 100).close());
+        assertThat(other.quote("AAPL").getClose()).isNotEqualTo(market.quote("AAPL").getClose());
+    }
+
+    @Test
+    void barsAreContiguousAndConsistent() {
+        for (String interval : List.of("1min", "45min", "1day", "1week", "1month")) {
+            TimeSeries series = market.timeSeries("MSFT", interval, null, 300);
+
+            assertThat(series.size()).isEqualTo(300);
+            for (int i = 0; i < series.size(); i++) {
+                assertThat(series.high()[i]).isGreaterThanOrEqualTo(Math.max(series.open()[i], series.close()[i]));
+                assertThat(series.low()[i]).isLessThanOrEqualTo(Math.min(series.open()[i], series.close()[i]));
+                assertThat(series.low()[i]).isPositive();
+                if (i > 0) {
+                    // Newest first: each bar opens where the one before it closed
+                    assertThat(series.times()[i]).isLessThan(series.times()[i - 1]);
+                    assertThat(series.close()[i]).isEqualTo(series.open()[i - 1]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void quoteMatchesTheFormingBarAndIncrementalSyncs() {
+        Quote quote = market.quote("NVDA");
+        TimeSeries minutes = market.timeSeries("NVDA", "1min", null, 5);
+        TimeSeries days = market.timeSeries("NVDA", "1day", null, 2);
+
+        assertThat(minutes.close()[0]).isEqualTo(quote.getClose());
+        assertThat(days.close()[0]).isEqualTo(quote.getClose());
+        assertThat(days.open()[0]).isEqualTo(quote.getOpen()).isEqualTo(quote.getPreviousClose());
+
+        TimeSeries tail = market.timeSeries("NVDA", "1min", LocalDateTime.of(2026, 3, 10, 14, 30), 5000);
+        assertThat(tail.size()).isEqualTo(8);
+        assertThat(tail.times()[tail.size() - 1])
+            .isEqualTo(LocalDateTime.of(2026, 3, 10, 14, 30).toEpochSecond(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.OrderLeg;
+import com.example.backend.model.Holdings;
+import com.example.backend.model.Transaction;
+import com.example.backend.model.User;
+import com.example.backend.repository.HoldingsRepository;
+import com.example.backend.repository.LedgerEventRepository;
+import com.example.backend.repository.LedgerSnapshotRepository;
+import com.example.backend.repository.TransactionRepository;
+import com.example.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionServiceTest {
+    private final TransactionRepository transactionRepository = Mockito.mock(TransactionRepository.class);
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final HoldingsRepository holdingsRepository = Mockito.mock(HoldingsRepository.class);
+    private final User user = User.builder().id(1L).email("alice@example.com").name("Alice").balance(1000.0).build();
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        HoldingsService holdingsService = new HoldingsService(holdingsRepository, userRepository);
+        LedgerService ledgerService = new LedgerService(Mockito.mock(LedgerEventRepository.class),
+                Mockito.mock(LedgerSnapshotRepository.class), userRepository, holdingsRepository, holdingsService,
+                new ObjectMapper(), 100);
+        transactionService = new TransactionService(transactionRepository, userRepository, holdingsService,
+                ledgerService, new AccountLocks(16, 1000),
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(transactionService, "batchMaxLegs", 3);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        Holdings msft = Holdings.builder().id(5L).user(user).stockSymbol("MSFT").quantity(4.0).averagePrice(100.0).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(holdingsRepository.findByUserAndStockSymbolIn(any(), anyCollection())).thenReturn(List.of(msft));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(call -> call.getArgument(0));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void batchAppliesLegsInOrderAndWritesEachRowOnce() {
+        List<Transaction> transactions = transactionService.executeBatch(List.of(
+                new OrderLeg("MSFT", false, 4, 100.0),
+                new OrderLeg("AAPL", true, 10, 100.0),
+                new OrderLeg("AAPL", false, 5, 120.0)));
+
+        // 1000 + 400 * 0.97 - 1000 + 600 * 0.97
+        assertThat(user.getBalance()).isCloseTo(970.0, offset(1e-9));
+        assertThat(transactions).extracting(Transaction::getType).containsExactly("SELL", "BUY", "SELL");
+        assertThat(transactions.get(0).getTotal()).isEqualTo(388.0);
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).save(user);
+        verify(holdingsRepository, times(1)).findByUserAndStockSymbolIn(any(), anyCollection());
+        verify(transactionRepository, times(1)).saveAll(anyList());
+
+        // The emptied MSFT position is deleted, the new AAPL one saved with what is left
+        verify(holdingsRepository).delete(Mockito.argThat(h -> h.getStockSymbol().equals("MSFT")));
+        verify(holdingsRepository).saveAll(Mockito.<Collection<Holdings>>argThat(saved -> {
+            List<Holdings> open = new ArrayList<>(saved);
+            return open.size() == 1 && open.get(0).getStockSymbol().equals("AAPL")
+                    && open.get(0).getQuantity() == 5.0 && open.get(0).getAveragePrice() == 100.0;
+        }));
+    }
+
+    @Test
+    void failingLegRejectsTheWholeBatchBeforeAnyWrite() {
+        assertThatThrownBy(() -> transactionService.executeBatch(List.of(
+                new OrderLeg("AAPL", true, 5, 100.0),
+                new OrderLeg("AAPL", true, 6, 100.0))))
+                .hasMessageContaining("Insufficient balance for AAPL");
+        assertThatThrownBy(() -> transactionService.executeBatch(List.of(
+                new OrderLeg("MSFT", false, 5, 100.0))))
+                .hasMessageContaining("Insufficient stocks to sell for MSFT");
+
+        verify(userRepository, never()).save(any());
+        verify(holdingsRepository, never()).saveAll(any());
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void emptyAndOversizedBatchesAreRejected() {
+        OrderLeg leg = new OrderLeg("AAPL", true, 1, 1.0);
+
+        assertThatThrownBy(() -> transactionService.executeBatch(List.of()))
+                .hasMessageContaining("no legs");
+        assertThatThrownBy(() -> transactionService.executeBatch(List.of(leg, leg, leg, leg)))
+                .hasMessageContaining("more than 3 legs");
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void legsWithoutAPositiveFiniteQuantityAndPriceAreRejected() {
+        for (OrderLeg leg : List.of(
+                new OrderLeg("AAPL", true, -100, 100.0),
+                new OrderLeg("AAPL", true, 1, 0.0),
+                new OrderLeg("AAPL", true, Double.NaN, 100.0),
+                new OrderLeg("AAPL", false, 1, Double.POSITIVE_INFINITY))) {
+            assertThatThrownBy(() -> transactionService.executeBatch(List.of(leg)))
+                    .hasMessageContaining("must be positive");
+        }
+        verify(userRepository, never()).findById(any());
+        assertThat(user.getBalance()).isEqualTo(1000.0);
+    }
+
+    @Test
+    void singleTradesWithoutAPositiveFiniteQuantityAndPriceAreRejected() {
+        assertThatThrownBy(() -> transactionService.buyStock("AAPL", -1, 100.0))
+                .hasMessageContaining("must be positive");
+        assertThatThrownBy(() -> transactionService.buyStock("AAPL", 1, Double.NaN))
+                .hasMessageContaining("must be positive");
+        assertThatThrownBy(() -> transactionService.sellStock("MSFT", Double.POSITIVE_INFINITY, 100.0))
+                .hasMessageContaining("must be positive");
+
+        verify(userRepository, never()).findById(any());
+        verify(transactionRepository, never()).save(any());
+    }
+}
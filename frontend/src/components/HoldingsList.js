@@ -11,7 +11,7 @@ import TrendingDownIcon from '@mui/icons-material/TrendingDown';
 import ShareIcon from '@mui/icons-material/Share';
 import CloseIcon from '@mui/icons-material/Close';
 import { useAuth } from '../contexts/AuthContext';
-import api from '../services/api';
+import api, { getQuotes, subscribeQuotes } from '../services/api';
 import { PieChart, Pie, Cell, Tooltip as RechartsTooltip, ResponsiveContainer } from 'recharts';
 
 const HoldingsList = () => {
@@ -75,37 +75,19 @@ const HoldingsList = () => {
            
             setHoldings(holdingsData);
             
-            // Fetch all quotes in parallel
-            const quotePromises = holdingsData.map(holding => 
-                api.get(`/stocks/${holding.stockSymbol}/quote`)
-                    .then(response => ({ 
-                        symbol: holding.stockSymbol, 
-                        data: response.data 
-                    }))
-                    .catch(error => {
-                        console.error(`Error fetching quote for ${holding.stockSymbol}:`, error);
-                        return { 
-                            symbol: holding.stockSymbol, 
-                            data: null 
-                        };
-                    })
-            );
-            
-            const quoteResults = await Promise.all(quotePromises);
+            // Fetch all quotes in one batch request
+            let quotes = {};
+            try {
+                quotes = await getQuotes(holdingsData.map(holding => holding.stockSymbol));
+            } catch (error) {
+                console.error('Error fetching quotes:', error);
+            }
             
             // Check again if this is still the latest request
             if (!isMounted.current || requestId !== currentRequestId.current) {
                 return;
             }
             
-            // Convert array of results to object
-            const quotes = quoteResults.reduce((acc, { symbol, data }) => {
-                if (data) {
-                    acc[symbol] = data;
-                }
-                return acc;
-            }, {});
-            
             setStockDetails(quotes);
         } catch (error) {
             console.error('Error fetching holdings:', error);
@@ -124,14 +106,24 @@ const HoldingsList = () => {
         isMounted.current = true;
         fetchHoldings();
         
-        const interval = setInterval(fetchHoldings, 30000); // Refresh every 30 seconds
-        
         return () => {
             isMounted.current = false;
-            clearInterval(interval);
             currentRequestId.current++; // Cancel any ongoing requests
         };
     }, []);
+
+    // Live prices for the held symbols are pushed by the quote stream
+    const heldSymbols = holdings.map(holding => holding.stockSymbol).sort().join(',');
+    useEffect(() => {
+        if (!heldSymbols) {
+            return undefined;
+        }
+        return subscribeQuotes(heldSymbols.split(','), (update) => {
+            if (isMounted.current) {
+                setStockDetails(prev => ({ ...prev, ...update }));
+            }
+        });
+    }, [heldSymbols]);
     
     useEffect(() => {
         if (holdings.length > 0 && Object.keys(stockDetails).length > 0) {
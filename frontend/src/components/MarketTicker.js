@@ -1,6 +1,6 @@
 import React, { useEffect, useMemo, useState } from 'react';
 import { Box, Typography } from '@mui/material';
-import api from '../services/api';
+import { subscribeQuotes } from '../services/api';
 
 const DEFAULT_SYMBOLS = [
   'AAPL','MSFT','NVDA','AMZN','META','TSLA','GOOGL','NFLX','AMD','INTC',
@@ -10,30 +10,11 @@ const DEFAULT_SYMBOLS = [
 const MarketTicker = ({ symbols = DEFAULT_SYMBOLS }) => {
   const [quotes, setQuotes] = useState({});
 
-  const fetchQuotes = async () => {
-    try {
-      const results = await Promise.all(
-        symbols.map((symbol) =>
-          api.get(`/stocks/${symbol}/quote`)
-            .then(res => ({ symbol, data: res.data }))
-            .catch(() => ({ symbol, data: null }))
-        )
-      );
-      const map = results.reduce((acc, { symbol, data }) => {
-        if (data) acc[symbol] = data;
-        return acc;
-      }, {});
-      setQuotes(map);
-    } catch {
-      setQuotes({});
-    }
-  };
-
   useEffect(() => {
-    fetchQuotes();
-    const interval = setInterval(fetchQuotes, 60000);
-    return () => clearInterval(interval);
-  }, []);
+    return subscribeQuotes(symbols, (update) => {
+      setQuotes((prev) => ({ ...prev, ...update }));
+    }, { fallbackMs: 60000 });
+  }, [symbols]);
 
   const rows = useMemo(() => {
     return symbols
@@ -1,4 +1,5 @@
 import { createContext, useContext, useState } from 'react';
+import { logout as revokeSession } from '../services/api';
 
 const AuthContext = createContext(null);
 
@@ -39,7 +40,9 @@ export const AuthProvider = ({ children }) => {
     }
   };
 
-  const logout = () => {
+  const logout = async () => {
+    // Revoke on the server while the token is still in localStorage for the request
+    await revokeSession();
     try {
       console.log('Logging out, clearing auth state');
       setUser(null);
@@ -18,7 +18,7 @@ import {
 } from '@mui/material';
 import TrendingUpIcon from '@mui/icons-material/TrendingUp';
 import TrendingDownIcon from '@mui/icons-material/TrendingDown';
-import api from '../services/api';
+import api, { getQuotes } from '../services/api';
 
 const SharedPortfolio = () => {
     const { userId } = useParams();
@@ -57,17 +57,12 @@ const SharedPortfolio = () => {
             const fetchedHoldings = holdingsResponse.data;
             setHoldings(fetchedHoldings);
 
-            const quotes = {};
-            await Promise.all(
-                fetchedHoldings.map(async (holding) => {
-                    try {
-                        const quoteResponse = await api.get(`/stocks/${holding.stockSymbol}/quote`);
-                        quotes[holding.stockSymbol] = quoteResponse.data;
-                    } catch (error) {
-                        console.error(`Error fetching quote for ${holding.stockSymbol}:`, error);
-                    }
-                })
-            );
+            let quotes = {};
+            try {
+                quotes = await getQuotes(fetchedHoldings.map(holding => holding.stockSymbol));
+            } catch (error) {
+                console.error('Error fetching quotes:', error);
+            }
             setStockDetails(quotes);
         } catch (error) {
             console.error('Error fetching shared portfolio:', error);
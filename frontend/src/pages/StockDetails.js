@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { useParams } from 'react-router-dom';
 import {
     Box, Container, Typography, Paper, Grid, Button,
@@ -12,7 +12,7 @@ import {
 } from 'recharts';
 import Navbar from '../components/Navbar';
 import { useAuth } from '../contexts/AuthContext';
-import api from '../services/api';
+import api, { getQuotes, newOrderKey, placeOrder } from '../services/api';
 
 const INTERVALS = ['1min', '5min', '15min', '30min', '1h', '1day', '1week'];
 
@@ -26,6 +26,8 @@ const StockDetails = () => {
     const [openBuyDialog, setOpenBuyDialog] = useState(false);
     const [openSellDialog, setOpenSellDialog] = useState(false);
     const [quantity, setQuantity] = useState('');
+    // One Idempotency-Key per opened order dialog: double clicks and retries reuse it
+    const orderKey = useRef(null);
     const [error, setError] = useState('');
     const [success, setSuccess] = useState('');
     const [holdings, setHoldings] = useState(null);
@@ -100,7 +102,7 @@ const StockDetails = () => {
 
     const fetchStockData = async () => {
         try {
-            const response = await api.get(`/stocks/${symbol}/data?interval=${selectedInterval}`);
+            const response = await api.get(`/stocks/${symbol}/data?interval=${selectedInterval}&outputsize=500&points=150`);
             // Transform data for chart
             const chartData = response.data?.values?.map(item => ({
                 time: new Date(item.datetime).toLocaleString(),
@@ -181,12 +183,12 @@ const StockDetails = () => {
                 setError('Price not available yet. Please try again.');
                 return;
             }
-            const response = await api.post('/transactions/buy', {
+            const result = await placeOrder('buy', {
                 symbol,
                 quantity: parseFloat(quantity),
                 price: quote.close
-            });
-            updateAuth({ ...user, balance: response.data.user.balance }, localStorage.getItem('token'));
+            }, orderKey.current);
+            updateAuth({ ...user, balance: result.user.balance }, localStorage.getItem('token'));
             setSuccess('Successfully bought stocks!');
             fetchHoldings();
             setOpenBuyDialog(false);
@@ -203,12 +205,12 @@ const StockDetails = () => {
                 setError('Price not available yet. Please try again.');
                 return;
             }
-            const response = await api.post('/transactions/sell', {
+            const result = await placeOrder('sell', {
                 symbol,
                 quantity: parseFloat(quantity),
                 price: quote.close
-            });
-            updateAuth({ ...user, balance: response.data.user.balance }, localStorage.getItem('token'));
+            }, orderKey.current);
+            updateAuth({ ...user, balance: result.user.balance }, localStorage.getItem('token'));
             setSuccess('Successfully sold stocks!');
             fetchHoldings();
             setOpenSellDialog(false);
@@ -263,14 +265,8 @@ const StockDetails = () => {
             return;
         }
         try {
-            const results = await Promise.all(
-                symbols.map(sym =>
-                    api.get(`/stocks/${sym}/quote`)
-                        .then(r => ({ symbol: sym, data: r.data }))
-                        .catch(() => ({ symbol: sym, data: null }))
-                )
-            );
-            setCompareResults(results);
+            const quotes = await getQuotes(symbols);
+            setCompareResults(symbols.map(sym => ({ symbol: sym, data: quotes[sym] || null })));
         } catch {
             setCompareResults([]);
         }
@@ -759,14 +755,14 @@ const StockDetails = () => {
                                             <Button
                                                 variant="contained"
                                                 color="primary"
-                                                onClick={() => setOpenBuyDialog(true)}
+                                                onClick={() => { orderKey.current = newOrderKey(); setOpenBuyDialog(true); }}
                                             >
                                                 Buy
                                             </Button>
                                             <Button
                                                 variant="contained"
                                                 color="error"
-                                                onClick={() => setOpenSellDialog(true)}
+                                                onClick={() => { orderKey.current = newOrderKey(); setOpenSellDialog(true); }}
                                                 disabled={!holdings || holdings.quantity <= 0}
                                             >
                                                 Sell
@@ -65,11 +65,9 @@ const WatchlistDetail = () => {
             await Promise.all(
                 watchlist.stockSymbols.map(async (symbol) => {
                     try {
-                        const resp = await api.get(`/stocks/${symbol}/data?interval=1day`);
-                        const values = resp.data?.values || [];
-                        history[symbol] = values.slice(0, 12).reverse().map((v) => ({
-                            value: parseFloat(v.close)
-                        }));
+                        const resp = await api.get(`/stocks/${symbol}/sparkline?interval=1day&window=30&points=12`);
+                        const closes = resp.data?.c || [];
+                        history[symbol] = closes.map((close) => ({ value: close }));
                     } catch {
                         history[symbol] = [];
                     }
@@ -34,6 +34,106 @@ export const getQuote = async (symbol) => {
   return response.data;
 };
 
+// Fetch many quotes in one round trip. Resolves to { [symbol]: quote } keyed by the
+// symbols passed in; symbols the backend could not quote are left out.
+export const getQuotes = async (symbols) => {
+  const unique = [...new Set(symbols.filter(Boolean))];
+  if (!unique.length) {
+    return {};
+  }
+  const response = await api.post('/stocks/quotes', { symbols: unique });
+  const data = response.data || {};
+  return unique.reduce((acc, symbol) => {
+    const quote = data[symbol.toUpperCase()];
+    if (quote && quote.status !== 'error') {
+      acc[symbol] = quote;
+    }
+    return acc;
+  }, {});
+};
+
+// Stream live quotes for a set of symbols over Server-Sent Events. onQuotes receives
+// partial updates ({ [symbol]: quote }) for symbols whose quote changed. Falls back to
+// polling getQuotes when EventSource is unavailable or the server refuses the stream.
+// Returns a function that closes the subscription.
+export const subscribeQuotes = (symbols, onQuotes, { fallbackMs = 30000 } = {}) => {
+  const unique = [...new Set(symbols.filter(Boolean))];
+  if (!unique.length) {
+    return () => {};
+  }
+  const bySymbol = unique.reduce((acc, symbol) => {
+    acc[symbol.toUpperCase()] = symbol;
+    return acc;
+  }, {});
+
+  let pollTimer = null;
+  let closed = false;
+  const startPolling = () => {
+    if (pollTimer || closed) return;
+    const poll = () => getQuotes(unique).then((quotes) => !closed && onQuotes(quotes)).catch(() => {});
+    poll();
+    pollTimer = setInterval(poll, fallbackMs);
+  };
+
+  let source = null;
+  if (typeof window !== 'undefined' && window.EventSource) {
+    const query = encodeURIComponent(unique.join(','));
+    source = new EventSource(`${API_URL}/stocks/stream?symbols=${query}`);
+    source.addEventListener('quotes', (event) => {
+      const data = JSON.parse(event.data);
+      const update = Object.keys(data).reduce((acc, symbol) => {
+        acc[bySymbol[symbol] || symbol] = data[symbol];
+        return acc;
+      }, {});
+      onQuotes(update);
+    });
+    source.onerror = () => {
+      // EventSource retries transient drops itself; CLOSED means it gave up
+      if (source.readyState === EventSource.CLOSED) {
+        startPolling();
+      }
+    };
+  } else {
+    startPolling();
+  }
+
+  return () => {
+    closed = true;
+    if (source) source.close();
+    if (pollTimer) clearInterval(pollTimer);
+  };
+};
+
+// A fresh Idempotency-Key for one order. Reuse it for every attempt at that order so
+// the backend executes it at most once.
+export const newOrderKey = () =>
+  (window.crypto?.randomUUID
+    ? window.crypto.randomUUID()
+    : `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`);
+
+const isRetryable = (error) =>
+  !error.response || error.response.status >= 500 || error.response.status === 408;
+
+// Places a buy or sell ('buy' | 'sell'), retrying timeouts, network errors and 5xx
+// with the same Idempotency-Key, so a retry of an order that did go through returns
+// its original result instead of filling twice.
+export const placeOrder = async (side, order, orderKey, { attempts = 3, timeoutMs = 10000 } = {}) => {
+  for (let attempt = 1; ; attempt += 1) {
+    try {
+      const response = await api.post(`/transactions/${side}`, order, {
+        headers: { 'Idempotency-Key': orderKey },
+        timeout: timeoutMs,
+      });
+      return response.data;
+    } catch (error) {
+      if (attempt >= attempts || !isRetryable(error)) {
+        throw error;
+      }
+      await new Promise((resolve) => setTimeout(resolve, 250 * 2 ** (attempt - 1)));
+    }
+  }
+};
+
 export const login = async (credentials) => {
   try {
     const response = await api.post('/auth/login', credentials);
@@ -45,6 +145,16 @@ export const login = async (credentials) => {
   }
 };
 
+// Revokes every token issued to the current user on the server. Best effort: the
+// local session is cleared by the caller either way.
+export const logout = async () => {
+  try {
+    await api.post('/auth/logout');
+  } catch (error) {
+    console.error('Logout API error:', error.response?.data);
+  }
+};
+
 export const register = async (userData) => {
   try {
     const response = await api.post('/auth/register', userData);